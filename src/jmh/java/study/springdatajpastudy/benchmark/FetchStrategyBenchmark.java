@@ -0,0 +1,102 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.dto.MemberDto;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberProjection;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.NestedClosedProjections;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MemberRepository 의 팀 조회 전략별 처리량/지연시간/할당량 비교.
+ * 모든 전략이 회원마다 팀 이름까지 읽도록 해서 지연 로딩 비용도 포함한다.
+ */
+@State(Scope.Benchmark)
+public class FetchStrategyBenchmark {
+
+	@Param({"10", "100"})
+	int teams;
+
+	@Param({"10", "100"})
+	int membersPerTeam;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		context.seed(teams, membersPerTeam);
+		memberRepository = context.getBean(MemberRepository.class);
+		readOnly = context.transactionTemplate(true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void fetchJoin(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> consumeMembers(memberRepository.findMemberFetchJoin(), bh));
+	}
+
+	@Benchmark
+	public void entityGraph(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> consumeMembers(memberRepository.findMemberEntityGraph(), bh));
+	}
+
+	@Benchmark
+	public void namedEntityGraph(Blackhole bh) {
+		readOnly.executeWithoutResult(status ->
+			consumeMembers(memberRepository.findEntityGraphByUsername(JpaBenchmarkContext.USERNAME), bh));
+	}
+
+	@Benchmark
+	public void lazy(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> consumeMembers(memberRepository.findMemberCustom(), bh));
+	}
+
+	@Benchmark
+	public void dto(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> {
+			for(MemberDto dto : memberRepository.findMemberDto()) {
+				bh.consume(dto.getTeamName());
+			}
+		});
+	}
+
+	@Benchmark
+	public void nestedProjection(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> {
+			List<NestedClosedProjections> result =
+				memberRepository.findProjectionsByUsername(JpaBenchmarkContext.USERNAME, NestedClosedProjections.class);
+			for(NestedClosedProjections projection : result) {
+				bh.consume(projection.getTeam().getName());
+			}
+		});
+	}
+
+	@Benchmark
+	public void projectionStream(Blackhole bh) {
+		readOnly.executeWithoutResult(status -> {
+			try(Stream<MemberProjection> stream = memberRepository.streamMemberProjections()) {
+				stream.forEach(projection -> bh.consume(projection.getTeamName()));
+			}
+		});
+	}
+
+	private static void consumeMembers(List<Member> members, Blackhole bh) {
+		for(Member member : members) {
+			bh.consume(member.getTeam().getName());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * age 조건 페이징 조회를 @Table(indexes) 로 만든 인덱스가 있을 때와 지웠을 때 비교한다.
+ * indexed=false 면 age 로 시작하는 인덱스가 없어서 count 쿼리와 본 쿼리 모두 전체 스캔이 된다.
+ */
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+
+	private static final List<String> AGE_INDEXES = List.of("idx_member_age", "idx_member_username_age");
+
+	@Param({"true", "false"})
+	boolean indexed;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start("--index-advisor.enabled=false");
+		context.seed(100, 500);
+		memberRepository = context.getBean(MemberRepository.class);
+		readOnly = context.transactionTemplate(true);
+
+		if(!indexed) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			AGE_INDEXES.forEach(index -> jdbcTemplate.execute("drop index if exists " + index));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<Member> page() {
+		return readOnly.execute(status -> memberRepository.findPageByAge(age(), PageRequest.of(0, 10)));
+	}
+
+	@Benchmark
+	public Slice<Member> slice() {
+		return readOnly.execute(status -> memberRepository.findSliceByAge(age(), PageRequest.of(0, 10)));
+	}
+
+	private static int age() {
+		return ThreadLocalRandom.current().nextInt(100);
+	}
+}
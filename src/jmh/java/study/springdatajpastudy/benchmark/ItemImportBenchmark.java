@@ -0,0 +1,55 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.springdatajpastudy.entity.Item;
+import study.springdatajpastudy.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 이미 있는 Item 을 다시 받았을 때 saveAll 과 upsertAll 비교.
+ * 다시 받은 Item 은 createdDate 가 있어 isNew() 가 false 이므로 saveAll 은 행마다 merge(SELECT)를 실행한다.
+ */
+@State(Scope.Benchmark)
+public class ItemImportBenchmark {
+
+	@Param({"10000"})
+	int size;
+
+	JpaBenchmarkContext context;
+
+	ItemRepository itemRepository;
+
+	List<String> ids;
+
+	List<Item> resent;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		itemRepository = context.getBean(ItemRepository.class);
+		ids = IntStream.range(0, size)
+			.mapToObj(i -> "item-" + i)
+			.toList();
+		itemRepository.upsertAll(ids, 1_000);
+
+		// 트랜잭션 밖에서 조회했으므로 준영속 상태
+		resent = itemRepository.findAllById(ids);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Item> saveAllResent() {
+		return itemRepository.saveAll(resent);
+	}
+
+	@Benchmark
+	public int upsertAllReimport() {
+		return itemRepository.upsertAll(ids, 1_000);
+	}
+}
@@ -0,0 +1,103 @@
+package study.springdatajpastudy.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.SpringDataJpaStudyApplication;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+import study.springdatajpastudy.repository.MemberJpaRepository;
+import study.springdatajpastudy.repository.TeamJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 스프링 컨텍스트. 내장 H2(mem) 에 붙고 SQL 로그와 조회 결과 캐시는 끈다.
+ */
+public final class JpaBenchmarkContext implements AutoCloseable {
+
+	public static final String USERNAME = "member";
+
+	private static final String[] DEFAULT_ARGS = {
+		"--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+		"--spring.cache.type=none",
+		"--spring.main.banner-mode=off",
+		"--spring.jpa.properties.hibernate.format_sql=false",
+		"--decorator.datasource.p6spy.enable-logging=false",
+		"--logging.level.root=warn",
+		"--logging.level.org.hibernate.SQL=warn"
+	};
+
+	private final ConfigurableApplicationContext context;
+
+	private JpaBenchmarkContext(ConfigurableApplicationContext context) {
+		this.context = context;
+	}
+
+	public static JpaBenchmarkContext start(String... args) {
+		return start(WebApplicationType.NONE, args);
+	}
+
+	// 임의 포트로 내장 톰캣까지 띄운다. port() 로 포트를 확인한다.
+	public static JpaBenchmarkContext startWeb(String... args) {
+		String[] webArgs = Stream.concat(Stream.of("--server.port=0"), Stream.of(args)).toArray(String[]::new);
+		return start(WebApplicationType.SERVLET, webArgs);
+	}
+
+	private static JpaBenchmarkContext start(WebApplicationType webApplicationType, String... args) {
+		String[] allArgs = Stream.concat(Stream.of(DEFAULT_ARGS), Stream.of(args)).toArray(String[]::new);
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringDataJpaStudyApplication.class)
+			.web(webApplicationType)
+			.logStartupInfo(false)
+			.run(allArgs);
+		return new JpaBenchmarkContext(context);
+	}
+
+	public int port() {
+		return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	public TransactionTemplate transactionTemplate(boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate;
+	}
+
+	/**
+	 * teams 개 팀에 팀당 membersPerTeam 명의 회원을 넣는다. 회원 이름은 모두 USERNAME 이다.
+	 */
+	public List<Team> seed(int teams, int membersPerTeam) {
+		List<Team> savedTeams = IntStream.range(0, teams)
+			.mapToObj(i -> new Team("team" + i))
+			.toList();
+
+		transactionTemplate(false).executeWithoutResult(status -> {
+			getBean(TeamJpaRepository.class).saveAllBatched(savedTeams, 500);
+
+			List<Member> members = new ArrayList<>(teams * membersPerTeam);
+			for(Team team : savedTeams) {
+				for(int i = 0; i < membersPerTeam; i++) {
+					Member member = new Member(USERNAME, i % 100);
+					member.setTeam(team);
+					members.add(member);
+				}
+			}
+			getBean(MemberJpaRepository.class).saveAllBatched(members, 500);
+		});
+		return savedTeams;
+	}
+
+	@Override
+	public void close() {
+		context.close();
+	}
+}
@@ -0,0 +1,51 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.*;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 깊은 페이지(마지막 페이지)를 offset 페이징과 member_id 키셋 페이징으로 조회할 때의 지연시간 비교.
+ */
+@State(Scope.Benchmark)
+public class KeysetPagingBenchmark {
+
+	static final int SIZE = 20;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	int deepPage;
+
+	Long lastIdBeforeDeepPage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		context.seed(20, 1000);
+		memberRepository = context.getBean(MemberRepository.class);
+		deepPage = (int) (memberRepository.count() / SIZE) - 1;
+		lastIdBeforeDeepPage = memberRepository.findAll(PageRequest.of(deepPage - 1, SIZE, Sort.by("id")))
+			.getContent().get(SIZE - 1).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Member> offset() {
+		return memberRepository.findAll(PageRequest.of(deepPage, SIZE, Sort.by("id"))).getContent();
+	}
+
+	@Benchmark
+	public List<Member> keyset() {
+		return memberRepository.findMemberWindow(ScrollPosition.forward(Map.of("id", lastIdBeforeDeepPage)), SIZE).getContent();
+	}
+}
@@ -0,0 +1,92 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.ClaimStrategy;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.OptimisticRetryExecutor;
+import study.springdatajpastudy.repository.QueueWorker;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 16 개 스레드가 같은 나이의 회원을 BATCH 명씩 가져가 수정할 때 전략별 처리량 비교.
+ * 처리한 회원은 큐에서 빠지지 않으므로 매번 같은 앞쪽 행을 두고 경합한다.
+ * OPTIMISTIC 은 재시도 한도를 넘기면 0 을 반환한다.
+ */
+@State(Scope.Benchmark)
+@Threads(LockContentionBenchmark.THREADS)
+public class LockContentionBenchmark {
+
+	static final int THREADS = 16;
+
+	private static final int AGE = 0;
+
+	private static final int BATCH = 5;
+
+	@Param({"SKIP_LOCKED", "PARTITIONED", "WAIT", "OPTIMISTIC"})
+	String strategy;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	OptimisticRetryExecutor optimisticRetryExecutor;
+
+	TransactionTemplate transactionTemplate;
+
+	final AtomicInteger workerIndex = new AtomicInteger();
+
+	@State(Scope.Thread)
+	public static class Worker {
+
+		QueueWorker queueWorker;
+
+		@Setup(Level.Trial)
+		public void setUp(LockContentionBenchmark benchmark) {
+			queueWorker = new QueueWorker(benchmark.workerIndex.getAndIncrement() % THREADS, THREADS);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start("--spring.datasource.hikari.maximum-pool-size=" + (THREADS * 2));
+		// 나이별로 100 명씩 들어간다.
+		context.seed(100, 100);
+		memberRepository = context.getBean(MemberRepository.class);
+		optimisticRetryExecutor = context.getBean(OptimisticRetryExecutor.class);
+		transactionTemplate = context.transactionTemplate(false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int claimAndProcess(Worker worker) {
+		if("OPTIMISTIC".equals(strategy)) {
+			try {
+				return optimisticRetryExecutor.execute(() -> process(
+					memberRepository.findSliceByAge(AGE, PageRequest.of(0, BATCH, Sort.by("id"))).getContent()));
+			} catch(OptimisticLockingFailureException e) {
+				return 0;
+			}
+		}
+
+		ClaimStrategy claimStrategy = ClaimStrategy.valueOf(strategy);
+		return transactionTemplate.execute(status ->
+			process(memberRepository.claimByAge(AGE, BATCH, worker.queueWorker, claimStrategy)));
+	}
+
+	private static int process(List<Member> members) {
+		String processedBy = Thread.currentThread().getName();
+		members.forEach(member -> member.setUsername(processedBy));
+		return members.size();
+	}
+}
@@ -0,0 +1,68 @@
+package study.springdatajpastudy.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.repository.MemberColumnStore;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 팀별 age >= x 회원 수와 나이별 회원 수를 JPQL group by 와 MemberColumnStore 로 비교한다.
+ */
+@State(Scope.Benchmark)
+public class MemberSnapshotBenchmark {
+
+	JpaBenchmarkContext context;
+
+	EntityManager em;
+
+	MemberColumnStore memberColumnStore;
+
+	TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start("--member-snapshot.enabled=true");
+		context.seed(100, 1000);
+		em = context.getBean(EntityManager.class);
+		memberColumnStore = context.getBean(MemberColumnStore.class);
+		memberColumnStore.refresh();
+		readOnly = context.transactionTemplate(true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Object[]> jpqlCountByTeam() {
+		return readOnly.execute(status ->
+			em.createQuery("select m.team.id, count(m) from Member m where m.age >= :age group by m.team.id", Object[].class)
+				.setParameter("age", age())
+				.getResultList());
+	}
+
+	@Benchmark
+	public SortedMap<Long, Long> snapshotCountByTeam() {
+		return memberColumnStore.countByTeam(age());
+	}
+
+	@Benchmark
+	public List<Object[]> jpqlCountByAge() {
+		return readOnly.execute(status ->
+			em.createQuery("select m.age, count(m) from Member m group by m.age", Object[].class).getResultList());
+	}
+
+	@Benchmark
+	public SortedMap<Integer, Long> snapshotCountByAge() {
+		return memberColumnStore.countByAge(null);
+	}
+
+	private static int age() {
+		return ThreadLocalRandom.current().nextInt(100);
+	}
+}
@@ -0,0 +1,69 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.CountMode;
+import study.springdatajpastudy.repository.MemberProjection;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.ParallelCountExecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Page 조회에서 count 를 본 쿼리 뒤에 실행(EXACT)할 때와 동시에 실행(PARALLEL)할 때의 지연시간 비교.
+ * 가운데 페이지를 조회해서 두 모드 모두 count 가 필요하다.
+ * 트랜잭션 안에서는 PARALLEL 도 순서대로 실행하므로 트랜잭션 없이 호출한다.
+ */
+@State(Scope.Benchmark)
+public class ParallelCountBenchmark {
+
+	@Param({"EXACT", "PARALLEL"})
+	CountMode countMode;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		context.seed(100, 1000);
+		memberRepository = context.getBean(MemberRepository.class);
+
+		// PARALLEL 이 순서대로 실행되는 경로로 빠지면 EXACT 와 같은 것을 재게 된다.
+		ParallelCountExecutor parallelCountExecutor = context.getBean(ParallelCountExecutor.class);
+		long parallel = parallelCountExecutor.getParallel();
+		pageByAge();
+		if(countMode == CountMode.PARALLEL && parallelCountExecutor.getParallel() == parallel) {
+			throw new IllegalStateException("PARALLEL count did not run in parallel");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<Member> pageByAge() {
+		int age = ThreadLocalRandom.current().nextInt(100);
+		return memberRepository.findPageByAge(age, pageable(), countMode);
+	}
+
+	@Benchmark
+	public Page<Member> selfPageByAge() {
+		return memberRepository.findSelfPageByAge(0, pageable(), countMode);
+	}
+
+	@Benchmark
+	public Page<MemberProjection> nativeProjection() {
+		return memberRepository.findByNativeProjection(pageable(), countMode);
+	}
+
+	private static Pageable pageable() {
+		return PageRequest.of(ThreadLocalRandom.current().nextInt(1, 5), 10);
+	}
+}
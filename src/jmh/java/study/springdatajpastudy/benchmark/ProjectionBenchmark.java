@@ -0,0 +1,63 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.NestedClosedProjections;
+import study.springdatajpastudy.repository.UsernameOnly;
+
+/**
+ * 인터페이스 프로젝션을 JDK 프록시로 만드는 경로와 구현 레코드/DTO 로 바로 만드는 경로 비교.
+ * gc 프로파일러의 gc.alloc.rate.norm 으로 행당 할당량 차이를 본다.
+ */
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+	@Param({"UsernameOnly", "NestedClosedProjections"})
+	String projection;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	TransactionTemplate readOnly;
+
+	Class<?> type;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		context.seed(100, 100);
+		memberRepository = context.getBean(MemberRepository.class);
+		readOnly = context.transactionTemplate(true);
+		type = "UsernameOnly".equals(projection) ? UsernameOnly.class : NestedClosedProjections.class;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void proxy(Blackhole bh) {
+		readOnly.executeWithoutResult(status ->
+			consume(memberRepository.findProjectionsByUsername(JpaBenchmarkContext.USERNAME, type), bh));
+	}
+
+	@Benchmark
+	public void direct(Blackhole bh) {
+		readOnly.executeWithoutResult(status ->
+			consume(memberRepository.findDirectProjectionsByUsername(JpaBenchmarkContext.USERNAME, type), bh));
+	}
+
+	private static void consume(Iterable<?> result, Blackhole bh) {
+		for(Object row : result) {
+			if(row instanceof NestedClosedProjections nested) {
+				bh.consume(nested.getTeam().getName());
+			} else {
+				bh.consume(((UsernameOnly) row).getUsername());
+			}
+		}
+	}
+}
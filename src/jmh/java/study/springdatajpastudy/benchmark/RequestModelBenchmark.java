@@ -0,0 +1,56 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * 동시 요청 200 개로 /members 를 호출해 플랫폼 스레드와 가상 스레드(+입장 제어)의 처리량과 p99 를 비교한다.
+ * virtual 은 Java 21 에서만 의미가 있다. ./gradlew jmh -PvirtualThreads -PjmhIncludes=RequestModelBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(200)
+public class RequestModelBenchmark {
+
+	@Param({"platform", "virtual"})
+	String threadModel;
+
+	@Param({"false", "true"})
+	boolean admission;
+
+	JpaBenchmarkContext context;
+
+	HttpClient client;
+
+	HttpRequest request;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.startWeb(
+			"--spring.threads.virtual.enabled=" + "virtual".equals(threadModel),
+			"--admission.enabled=" + admission,
+			"--admission.max-wait=30s",
+			"--spring.datasource.hikari.maximum-pool-size=10",
+			"--query-budget.enabled=false");
+		context.seed(100, 100);
+
+		client = HttpClient.newHttpClient();
+		request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.port() + "/members?page=3&size=20"))
+			.GET()
+			.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int members() throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
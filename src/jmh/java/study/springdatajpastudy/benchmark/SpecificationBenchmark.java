@@ -0,0 +1,56 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.MemberSpec;
+import study.springdatajpastudy.repository.MemberSpecification;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MemberSpec 조합 조회를 Criteria 경로(findAll(Specification))와 컴파일된 JPQL 경로(findAllCompiled)로 비교한다.
+ * 결과가 한 건이라 실행 비용보다 쿼리 생성/해석 비용 차이가 드러난다.
+ */
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+	private static final int TEAMS = 100;
+
+	JpaBenchmarkContext context;
+
+	MemberRepository memberRepository;
+
+	TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start();
+		context.seed(TEAMS, 10);
+		memberRepository = context.getBean(MemberRepository.class);
+		readOnly = context.transactionTemplate(true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Member> criteria() {
+		return readOnly.execute(status -> memberRepository.findAll(spec()));
+	}
+
+	@Benchmark
+	public List<Member> compiled() {
+		return readOnly.execute(status -> memberRepository.findAllCompiled(spec()));
+	}
+
+	// 바인딩 값만 매번 달라진다.
+	private static MemberSpecification spec() {
+		String teamName = "team" + ThreadLocalRandom.current().nextInt(TEAMS);
+		return MemberSpec.teamName(teamName).and(MemberSpec.username(JpaBenchmarkContext.USERNAME));
+	}
+}
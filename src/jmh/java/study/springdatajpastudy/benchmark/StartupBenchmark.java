@@ -0,0 +1,30 @@
+package study.springdatajpastudy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.springdatajpastudy.repository.MemberRepository;
+
+/**
+ * 기본 설정과 fast-startup 프로필의 컨텍스트 시작 시간 비교. 호출마다 컨텍스트를 새로 띄우고 닫는다.
+ * fast-startup 은 스키마를 만들지 않으므로 Trial 시작 시 기본 설정으로 한 번 띄워 스키마를 준비한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class StartupBenchmark {
+
+	@Param({"default", "fast-startup"})
+	String profile;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		JpaBenchmarkContext.start().close();
+	}
+
+	@Benchmark
+	public void start() {
+		try(JpaBenchmarkContext context = JpaBenchmarkContext.start("--spring.profiles.active=" + profile)) {
+			context.getBean(MemberRepository.class);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package study.springdatajpastudy.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 큰 팀 사이에서 회원 한 명의 팀을 옮기는 비용. loadMembers=true 는 예전 changeTeam 처럼
+ * 대상 팀의 members 컬렉션을 먼저 로딩한 경우다. 매 호출은 롤백되어 팀 크기가 유지된다.
+ */
+@State(Scope.Benchmark)
+public class TeamMembershipBenchmark {
+
+	@Param({"false", "true"})
+	boolean loadMembers;
+
+	@Param({"10000"})
+	int membersPerTeam;
+
+	JpaBenchmarkContext context;
+
+	EntityManager em;
+
+	TransactionTemplate transactionTemplate;
+
+	List<Long> teamIds;
+
+	long[] memberIds;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = JpaBenchmarkContext.start("--index-advisor.enabled=false");
+		teamIds = context.seed(2, membersPerTeam).stream().map(Team::getId).toList();
+		memberIds = context.getBean(JdbcTemplate.class).queryForList("select member_id from member", Long.class)
+			.stream()
+			.mapToLong(Long::longValue)
+			.toArray();
+		em = context.getBean(EntityManager.class);
+		transactionTemplate = context.transactionTemplate(false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Long reassign() {
+		long memberId = memberIds[ThreadLocalRandom.current().nextInt(memberIds.length)];
+		return transactionTemplate.execute(status -> {
+			Member member = em.find(Member.class, memberId);
+			Team target = em.find(Team.class, teamIds.get(0).equals(member.getTeam().getId()) ? teamIds.get(1) : teamIds.get(0));
+			if(loadMembers) {
+				Hibernate.initialize(target.getMembers());
+			}
+			member.changeTeam(target);
+			em.flush();
+			status.setRollbackOnly();
+			return target.getId();
+		});
+	}
+}
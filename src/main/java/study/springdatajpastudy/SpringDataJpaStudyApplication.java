@@ -2,6 +2,7 @@ package study.springdatajpastudy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -11,6 +12,7 @@ import java.util.UUID;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableCaching
 public class SpringDataJpaStudyApplication {
 
 	public static void main(String[] args) {
@@ -1,22 +1,50 @@
 package study.springdatajpastudy.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.springdatajpastudy.dto.CursorDto;
 import study.springdatajpastudy.dto.MemberDto;
 import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.CountMode;
+import study.springdatajpastudy.repository.MemberCursor;
+import study.springdatajpastudy.repository.MemberProjection;
 import study.springdatajpastudy.repository.MemberRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+	private static final int MAX_CURSOR_SIZE = 2000;
+
 	private final MemberRepository memberRepository;
 
+	private final PlatformTransactionManager transactionManager;
+
+	private final ObjectMapper objectMapper;
+
 	@GetMapping("/members/{id}")
 	public String findMember(@PathVariable("id") Long id) {
 		Member member = memberRepository.findById(id).get();
@@ -28,12 +56,61 @@ public class MemberController {
 		return member.getUsername();
 	}
 
+	// /members2?ids=1,2,3 domain-lookup.enabled 이면 id 들을 findAllById 한 번으로 조회한다.
+	@GetMapping("/members2")
+	public List<String> findMembers2(@RequestParam("ids") List<Member> members) {
+		return members.stream()
+			.filter(Objects::nonNull)
+			.map(Member::getUsername)
+			.toList();
+	}
+
 	@GetMapping("/members")
 	public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable) {
-		Page<Member> page = memberRepository.findAll(pageable);
+		Page<Member> page = memberRepository.findAll(pageable, CountMode.CACHED);
 		return page.map(MemberDto::new);
 	}
 
+	@GetMapping("/members/cursor")
+	public CursorDto<MemberDto> listByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+		@RequestParam(value = "size", defaultValue = "5") int size) {
+		Window<Member> window = memberRepository.findMemberWindow(decodeCursor(cursor), Math.max(1, Math.min(size, MAX_CURSOR_SIZE)));
+		String nextCursor = window.hasNext() ? MemberCursor.encode(window.positionAt(window.size() - 1)) : null;
+		return new CursorDto<>(window.map(MemberDto::new).getContent(), nextCursor, window.hasNext());
+	}
+
+	@GetMapping(value = "/members/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public StreamingResponseBody export() {
+		ObjectWriter writer = objectMapper.writerFor(MemberProjection.class);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		// 응답 스트림에 한 줄씩 바로 쓰므로 전체 결과를 메모리에 올리지 않는다.
+		return out -> transactionTemplate.executeWithoutResult(status -> {
+			try(Stream<MemberProjection> members = memberRepository.streamMemberProjections()) {
+				members.forEach(member -> writeLine(out, writer, member));
+			}
+		});
+	}
+
+	// 클라이언트가 보낸 커서가 잘못되었으면 500 이 아니라 400
+	private static KeysetScrollPosition decodeCursor(String cursor) {
+		try {
+			return MemberCursor.decode(cursor);
+		} catch(IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	private static void writeLine(OutputStream out, ObjectWriter writer, MemberProjection member) {
+		try {
+			out.write(writer.writeValueAsBytes(member));
+			out.write('\n');
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	/*@PostConstruct
 	public void init() {
 		for(int i = 0; i < 100; i++) {
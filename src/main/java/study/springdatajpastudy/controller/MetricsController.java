@@ -0,0 +1,138 @@
+package study.springdatajpastudy.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.springdatajpastudy.monitor.IndexAdvice;
+import study.springdatajpastudy.monitor.IndexAdvisor;
+import study.springdatajpastudy.monitor.RepositoryMetrics;
+import study.springdatajpastudy.repository.MemberColumnStore;
+import study.springdatajpastudy.repository.MemberSpecCompiler;
+import study.springdatajpastudy.web.RequestEntityCache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+	private static final String TEAM_REGION = "team";
+
+	private final EntityManagerFactory emf;
+
+	private final MemberSpecCompiler memberSpecCompiler;
+
+	private final ObjectProvider<RequestEntityCache> requestEntityCache;
+
+	private final ObjectProvider<RepositoryMetrics> repositoryMetrics;
+
+	private final ObjectProvider<IndexAdvisor> indexAdvisor;
+
+	private final ObjectProvider<MemberColumnStore> memberColumnStore;
+
+	@GetMapping("/metrics/team-cache")
+	public Map<String, Object> teamCache() {
+		SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+		Map<String, Object> result = new LinkedHashMap<>();
+
+		boolean enabled = sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+		result.put("enabled", enabled);
+		if(!enabled) {
+			return result;
+		}
+
+		CacheRegionStatistics statistics = sessionFactory.getStatistics().getDomainDataRegionStatistics(TEAM_REGION);
+		result.put("hit", statistics.getHitCount());
+		result.put("miss", statistics.getMissCount());
+		result.put("put", statistics.getPutCount());
+		result.put("size", statistics.getElementCountInMemory());
+		result.put("eviction", teamCacheEvictions());
+		return result;
+	}
+
+	@GetMapping("/metrics/member-spec")
+	public Map<String, Object> memberSpec() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("compiledHit", memberSpecCompiler.getHits());
+		result.put("compiledMiss", memberSpecCompiler.getMisses());
+		result.put("compiledSize", memberSpecCompiler.getSize());
+
+		// Hibernate 쿼리 플랜 캐시 통계는 generate_statistics 가 켜져 있을 때만 집계된다.
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		if(statistics.isStatisticsEnabled()) {
+			result.put("queryPlanHit", statistics.getQueryPlanCacheHitCount());
+			result.put("queryPlanMiss", statistics.getQueryPlanCacheMissCount());
+		}
+		return result;
+	}
+
+	// 리포지토리 메서드별 호출 수, 지연시간(p50/p99/p999), 반환 행 수, 실행 문장 수
+	@GetMapping("/metrics/repositories")
+	public Map<String, Map<String, Object>> repositories() {
+		RepositoryMetrics metrics = repositoryMetrics.getIfAvailable();
+		return metrics == null ? Map.of() : metrics.snapshot();
+	}
+
+	@GetMapping("/metrics/member-snapshot")
+	public Map<String, Object> memberSnapshot() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		MemberColumnStore store = memberColumnStore.getIfAvailable();
+		result.put("enabled", store != null);
+		if(store == null) {
+			return result;
+		}
+
+		result.put("size", store.size());
+		result.put("refresh", store.getRefreshes());
+		result.put("lastRefreshMillis", store.getLastRefreshMillis());
+		return result;
+	}
+
+	// 쿼리 메서드 조건 컬럼별 인덱스 유무
+	@GetMapping("/metrics/index-advice")
+	public List<IndexAdvice> indexAdvice() {
+		IndexAdvisor advisor = indexAdvisor.getIfAvailable();
+		return advisor == null ? List.of() : advisor.getAdvice();
+	}
+
+	@GetMapping("/metrics/domain-lookup")
+	public Map<String, Object> domainLookup() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		RequestEntityCache cache = requestEntityCache.getIfAvailable();
+		result.put("enabled", cache != null);
+		if(cache == null) {
+			return result;
+		}
+
+		result.put("saved", cache.getHits());
+		result.put("miss", cache.getMisses());
+		result.put("preloaded", cache.getPreloaded());
+		result.put("preloadQuery", cache.getPreloadQueries());
+		return result;
+	}
+
+	// 만료/크기 초과로 인한 eviction 은 Hibernate 통계에 없어서 JCache 통계 MBean 에서 읽는다.
+	private long teamCacheEvictions() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			long evictions = 0;
+			for(ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + TEAM_REGION + ",*"), null)) {
+				evictions += (Long) server.getAttribute(name, "CacheEvictions");
+			}
+			return evictions;
+		} catch(JMException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package study.springdatajpastudy.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 클라이언트별로 쓰기 트랜잭션이 커밋된 시각을 기억해서, 복제 지연 동안 그 클라이언트의 읽기를 primary 에 고정한다.
+ * 클라이언트 키는 ReadYourWritesFilter 가 요청 동안만 스레드에 묶는다. 키가 없는 스레드(요청 밖, 비동기 작업)는 고정하지 않는다.
+ */
+final class ReadYourWrites {
+
+	private static final Object SYNCHRONIZATION_KEY = new Object();
+
+	private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+	private final Duration stickyWindow;
+
+	private final Cache<String, Long> lastWriteCommit;
+
+	ReadYourWrites(Duration stickyWindow) {
+		this.stickyWindow = stickyWindow;
+		this.lastWriteCommit = Caffeine.newBuilder()
+			.expireAfterWrite(stickyWindow)
+			.maximumSize(100_000)
+			.build();
+	}
+
+	/**
+	 * 현재 스레드를 client 의 요청으로 표시하고 이전 값을 돌려준다. 끝나면 restore 로 되돌린다.
+	 */
+	static String bind(String client) {
+		String previous = CURRENT_CLIENT.get();
+		CURRENT_CLIENT.set(client);
+		return previous;
+	}
+
+	static void restore(String previous) {
+		if(previous == null) {
+			CURRENT_CLIENT.remove();
+		} else {
+			CURRENT_CLIENT.set(previous);
+		}
+	}
+
+	void markWriteOnCommit() {
+		String client = CURRENT_CLIENT.get();
+		if(client == null
+			|| !TransactionSynchronizationManager.isSynchronizationActive()
+			|| TransactionSynchronizationManager.hasResource(SYNCHRONIZATION_KEY)) {
+			return;
+		}
+
+		TransactionSynchronizationManager.bindResource(SYNCHRONIZATION_KEY, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				lastWriteCommit.put(client, System.nanoTime());
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(SYNCHRONIZATION_KEY);
+			}
+		});
+	}
+
+	boolean isSticky() {
+		String client = CURRENT_CLIENT.get();
+		if(client == null) {
+			return false;
+		}
+
+		Long lastWrite = lastWriteCommit.getIfPresent(client);
+		return lastWrite != null && System.nanoTime() - lastWrite < stickyWindow.toNanos();
+	}
+}
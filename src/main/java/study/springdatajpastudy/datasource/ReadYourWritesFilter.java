@@ -0,0 +1,54 @@
+package study.springdatajpastudy.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 요청의 클라이언트 키(X-Client-Id 헤더, 없으면 쿠키)를 요청 동안 ReadYourWrites 에 묶는다.
+ * 둘 다 없으면 새 키를 쿠키로 내려서 같은 클라이언트의 다음 요청이 어느 스레드에서 처리되든 같은 키를 갖게 한다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String CLIENT_HEADER = "X-Client-Id";
+
+	static final String CLIENT_COOKIE = "rw-client";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		String previous = ReadYourWrites.bind(clientOf(request, response));
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReadYourWrites.restore(previous);
+		}
+	}
+
+	private static String clientOf(HttpServletRequest request, HttpServletResponse response) {
+		String header = request.getHeader(CLIENT_HEADER);
+		if(StringUtils.hasText(header)) {
+			return header;
+		}
+
+		Cookie cookie = WebUtils.getCookie(request, CLIENT_COOKIE);
+		if(cookie != null && StringUtils.hasText(cookie.getValue())) {
+			return cookie.getValue();
+		}
+
+		String client = UUID.randomUUID().toString();
+		Cookie newCookie = new Cookie(CLIENT_COOKIE, client);
+		newCookie.setPath("/");
+		newCookie.setHttpOnly(true);
+		response.addCookie(newCookie);
+		return client;
+	}
+}
@@ -0,0 +1,52 @@
+package study.springdatajpastudy.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({ReplicaRoutingProperties.class, DataSourceProperties.class})
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled")
+public class ReplicaRoutingConfig {
+
+	@Bean
+	public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties routingProperties) {
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+			.type(HikariDataSource.class)
+			.build();
+		primary.setPoolName("primary");
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for(ReplicaRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+			HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(dataSourceProperties.determineDriverClassName())
+				.url(replica.getUrl())
+				.username(replica.getUsername())
+				.password(replica.getPassword())
+				.build();
+			dataSource.setPoolName("replica-" + replicas.size());
+			dataSource.setReadOnly(true);
+			replicas.add(dataSource);
+		}
+
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+			routingProperties.getLoadBalance(), routingProperties.getStickyWindow());
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilter() {
+		return new ReadYourWritesFilter();
+	}
+}
@@ -0,0 +1,83 @@
+package study.springdatajpastudy.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 replica 로, 그 외(쓰기, 트랜잭션 밖)는 primary 로 보낸다.
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 동기화되지 않으므로
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 실행 시점에 결정되게 한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	static final String PRIMARY = "primary";
+
+	private static final String REPLICA_PREFIX = "replica-";
+
+	private final List<HikariDataSource> replicas;
+
+	private final ReplicaRoutingProperties.LoadBalance loadBalance;
+
+	private final ReadYourWrites readYourWrites;
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+		ReplicaRoutingProperties.LoadBalance loadBalance, Duration stickyWindow) {
+		this.replicas = replicas;
+		this.loadBalance = loadBalance;
+		this.readYourWrites = new ReadYourWrites(stickyWindow);
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for(int i = 0; i < replicas.size(); i++) {
+			targets.put(REPLICA_PREFIX + i, replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			readYourWrites.markWriteOnCommit();
+			return PRIMARY;
+		}
+
+		if(replicas.isEmpty() || readYourWrites.isSticky()) {
+			return PRIMARY;
+		}
+		return REPLICA_PREFIX + selectReplica();
+	}
+
+	private int selectReplica() {
+		if(loadBalance == ReplicaRoutingProperties.LoadBalance.LEAST_BUSY) {
+			return leastBusyReplica();
+		}
+		return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+	}
+
+	private int leastBusyReplica() {
+		int selected = 0;
+		int minActive = Integer.MAX_VALUE;
+		for(int i = 0; i < replicas.size(); i++) {
+			HikariPoolMXBean pool = replicas.get(i).getHikariPoolMXBean();
+			// 아직 커넥션을 한 번도 받지 않은 풀은 null
+			int active = pool == null ? 0 : pool.getActiveConnections();
+			if(active < minActive) {
+				minActive = active;
+				selected = i;
+			}
+		}
+		return selected;
+	}
+}
@@ -0,0 +1,40 @@
+package study.springdatajpastudy.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+	private boolean enabled = false;
+
+	private LoadBalance loadBalance = LoadBalance.ROUND_ROBIN;
+
+	// 쓰기 커밋 후 이 시간 동안 같은 클라이언트(X-Client-Id 헤더 또는 rw-client 쿠키)의 읽기는 primary 로 보낸다. (복제 지연 허용치)
+	private Duration stickyWindow = Duration.ofSeconds(1);
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	@Getter
+	@Setter
+	public static class Replica {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+	}
+
+	public enum LoadBalance {
+		ROUND_ROBIN,
+		LEAST_BUSY
+	}
+}
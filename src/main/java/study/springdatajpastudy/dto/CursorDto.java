@@ -0,0 +1,21 @@
+package study.springdatajpastudy.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class CursorDto<T> {
+
+	private final List<T> content;
+
+	private final String nextCursor;
+
+	private final boolean hasNext;
+
+	public CursorDto(List<T> content, String nextCursor, boolean hasNext) {
+		this.content = content;
+		this.nextCursor = nextCursor;
+		this.hasNext = hasNext;
+	}
+}
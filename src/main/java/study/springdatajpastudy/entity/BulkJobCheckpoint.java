@@ -0,0 +1,45 @@
+package study.springdatajpastudy.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 작업의 진행 위치. 청크 커밋과 같은 트랜잭션에서 갱신되어 실패 후 이어서 실행할 수 있다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"jobName", "lastProcessedId", "processedRows", "completed"})
+public class BulkJobCheckpoint extends JpaBaseEntity {
+
+	@Id
+	private String jobName;
+
+	private Long lastProcessedId;
+
+	private long processedRows;
+
+	private boolean completed;
+
+	public BulkJobCheckpoint(String jobName) {
+		this.jobName = jobName;
+	}
+
+	public BulkJobCheckpoint(String jobName, Long lastProcessedId) {
+		this.jobName = jobName;
+		this.lastProcessedId = lastProcessedId;
+	}
+
+	public void advance(Long lastProcessedId, long rows) {
+		this.lastProcessedId = lastProcessedId;
+		this.processedRows += rows;
+	}
+
+	public void complete() {
+		this.completed = true;
+	}
+}
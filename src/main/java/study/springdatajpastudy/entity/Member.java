@@ -2,6 +2,7 @@ package study.springdatajpastudy.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import static jakarta.persistence.FetchType.LAZY;
 
@@ -10,10 +11,15 @@ import static jakarta.persistence.FetchType.LAZY;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@Table(indexes = {
+	@Index(name = "idx_member_username_age", columnList = "username, age"),
+	@Index(name = "idx_member_age", columnList = "age")
+})
 @NamedQuery(
 	name = "Member.findByUsername",
 	query = "select m from Member m where m.username = :username")
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@EntityListeners(MemberCacheEvictListener.class)
 public class Member extends BaseEntity {
 
 	@Id
@@ -25,6 +31,10 @@ public class Member extends BaseEntity {
 
 	private int age;
 
+	// 낙관적 잠금. 벌크 update 는 update versioned 로 실행해야 버전이 올라간다.
+	@Version
+	private Long version;
+
 	@ManyToOne(fetch = LAZY)
 	@JoinColumn(name = "team_id")
 	private Team team;
@@ -46,8 +56,16 @@ public class Member extends BaseEntity {
 		this.age = age;
 	}
 
+	// team_id 만 바꾼다. 이미 로딩된 members 컬렉션만 메모리상으로 맞추고, 로딩되지 않은 컬렉션은 초기화하지 않는다.
+	// 팀 인원 수, 소속 여부는 TeamRepository.countMembers / containsMember 로 조회한다.
 	public void changeTeam(Team team) {
+		Team oldTeam = this.team;
 		this.team = team;
-		team.getMembers().add(this);
+		if(oldTeam != null && oldTeam != team && Hibernate.isInitialized(oldTeam) && Hibernate.isInitialized(oldTeam.getMembers())) {
+			oldTeam.getMembers().remove(this);
+		}
+		if(team != null && Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMembers())) {
+			team.getMembers().add(this);
+		}
 	}
 }
@@ -0,0 +1,31 @@
+package study.springdatajpastudy.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Member, Team 엔티티 리스너. 리포지토리를 거치지 않는 쓰기(변경 감지, EntityManager 직접 사용)도 flush 시점에 캐시를 비운다.
+ */
+public class MemberCacheEvictListener {
+
+	private final ObjectProvider<MemberCacheInvalidator> memberCacheInvalidator;
+
+	public MemberCacheEvictListener(ObjectProvider<MemberCacheInvalidator> memberCacheInvalidator) {
+		this.memberCacheInvalidator = memberCacheInvalidator;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void written(Object entity) {
+		memberCacheInvalidator.ifAvailable(invalidator -> {
+			if(entity instanceof Team) {
+				invalidator.evictTeamCaches();
+			} else {
+				invalidator.evictMemberCaches();
+			}
+		});
+	}
+}
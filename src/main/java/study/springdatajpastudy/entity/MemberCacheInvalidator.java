@@ -0,0 +1,11 @@
+package study.springdatajpastudy.entity;
+
+/**
+ * 회원/팀 쓰기 시 조회 결과 캐시를 비운다. MemberCacheEvictListener 가 flush 시점에 호출한다.
+ */
+public interface MemberCacheInvalidator {
+
+	void evictMemberCaches();
+
+	void evictTeamCaches();
+}
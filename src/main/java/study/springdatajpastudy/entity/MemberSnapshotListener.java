@@ -0,0 +1,58 @@
+package study.springdatajpastudy.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * BaseEntity 엔티티 리스너. Member 변경을 커밋 후 MemberSnapshotSink(MemberColumnStore)에 한 건씩 반영한다.
+ * 값은 flush 시점에 복사해 두고, 롤백되면 반영하지 않는다.
+ * member-snapshot.enabled 가 아니면 스토어 빈이 없어서 아무것도 하지 않는다.
+ */
+public class MemberSnapshotListener {
+
+	private final ObjectProvider<MemberSnapshotSink> memberSnapshotSink;
+
+	public MemberSnapshotListener(ObjectProvider<MemberSnapshotSink> memberSnapshotSink) {
+		this.memberSnapshotSink = memberSnapshotSink;
+	}
+
+	@PostPersist
+	@PostUpdate
+	public void saved(Object entity) {
+		MemberSnapshotSink sink = memberSnapshotSink.getIfAvailable();
+		if(sink != null && entity instanceof Member member) {
+			long id = member.getId();
+			int age = member.getAge();
+			// 프록시여도 id 조회는 초기화하지 않는다.
+			long teamId = member.getTeam() == null ? MemberSnapshotSink.NO_TEAM : member.getTeam().getId();
+			afterCommit(() -> sink.upsert(id, age, teamId));
+		}
+	}
+
+	@PostRemove
+	public void removed(Object entity) {
+		MemberSnapshotSink sink = memberSnapshotSink.getIfAvailable();
+		if(sink != null && entity instanceof Member member) {
+			long id = member.getId();
+			afterCommit(() -> sink.remove(id));
+		}
+	}
+
+	private static void afterCommit(Runnable action) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
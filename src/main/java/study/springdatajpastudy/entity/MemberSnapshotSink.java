@@ -0,0 +1,14 @@
+package study.springdatajpastudy.entity;
+
+/**
+ * 커밋된 Member 변경을 받는 읽기 모델. MemberSnapshotListener 가 한 건씩 전달한다.
+ */
+public interface MemberSnapshotSink {
+
+	// 팀이 없는 회원의 team id
+	long NO_TEAM = 0;
+
+	void upsert(long id, int age, long teamId);
+
+	void remove(long id);
+}
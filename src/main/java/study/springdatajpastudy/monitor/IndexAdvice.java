@@ -0,0 +1,12 @@
+package study.springdatajpastudy.monitor;
+
+import java.util.List;
+
+/**
+ * 쿼리 메서드가 조건으로 쓰는 컬럼 조합과 그 조합으로 시작하는 인덱스가 있는지 여부.
+ * columns 는 동등 조건 컬럼 다음에 범위 조건 컬럼 하나 순서다.
+ *
+ * @param created createMissing 으로 새로 만든 인덱스 이름. 만들지 않았으면 null
+ */
+public record IndexAdvice(String table, List<String> columns, List<String> sources, boolean covered, String created) {
+}
@@ -0,0 +1,285 @@
+package study.springdatajpastudy.monitor;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시작 시점에 리포지토리의 파생 쿼리(PartTree)와 @Query(JPQL) 메서드가 조건으로 쓰는 컬럼을 모아
+ * 실제 스키마의 인덱스(DatabaseMetaData.getIndexInfo)와 비교한다.
+ * 동등 조건 컬럼들로 시작하고 그 다음이 범위 조건 컬럼인 인덱스가 없으면 경고하고, createMissing 이면 만든다.
+ * JPQL 은 단순한 정규식으로 읽으므로 서브쿼리나 함수 안의 조건은 보지 않는다. 네이티브 쿼리는 대상이 아니다.
+ */
+@Slf4j
+public class IndexAdvisor {
+
+	private static final Pattern ROOT = Pattern.compile("(?i)\\b(?:from|update)\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)");
+
+	private static final Pattern JOIN = Pattern.compile("(?i)\\bjoin\\s+(?:fetch\\s+)?(\\w+)\\.(\\w+)\\s+(?:as\\s+)?(\\w+)");
+
+	private static final Pattern CONDITION =
+		Pattern.compile("(?i)\\b(\\w+)\\.(\\w+)\\s*(=|<>|>=|<=|>|<|\\bin\\b|\\blike\\b|\\bbetween\\b)");
+
+	private static final Set<Part.Type> EQUALITY = EnumSet.of(Part.Type.SIMPLE_PROPERTY, Part.Type.IN,
+		Part.Type.IS_NULL, Part.Type.TRUE, Part.Type.FALSE);
+
+	private final EntityManagerFactory emf;
+
+	private final DataSource dataSource;
+
+	private final IndexAdvisorProperties properties;
+
+	private final List<Class<?>> repositoryInterfaces;
+
+	private volatile List<IndexAdvice> advice = List.of();
+
+	public IndexAdvisor(EntityManagerFactory emf, DataSource dataSource, IndexAdvisorProperties properties,
+		List<Class<?>> repositoryInterfaces) {
+		this.emf = emf;
+		this.dataSource = dataSource;
+		this.properties = properties;
+		this.repositoryInterfaces = repositoryInterfaces;
+	}
+
+	private record Candidate(String table, List<String> columns) {
+	}
+
+	// 조건 하나. table.column 과 동등 조건 여부
+	private record Column(String table, String name, boolean equality) {
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void advise() {
+		Map<Candidate, List<String>> candidates = new LinkedHashMap<>();
+		for(Class<?> repositoryInterface : repositoryInterfaces) {
+			Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repositoryInterface).getDomainType();
+			for(Method method : repositoryInterface.getDeclaredMethods()) {
+				String source = repositoryInterface.getSimpleName() + "." + method.getName();
+				for(List<Column> columns : conditions(method, domainType)) {
+					toCandidates(columns).forEach(candidate ->
+						candidates.computeIfAbsent(candidate, key -> new ArrayList<>()).add(source));
+				}
+			}
+		}
+
+		List<IndexAdvice> result = new ArrayList<>();
+		try(Connection connection = dataSource.getConnection()) {
+			Map<String, List<List<String>>> indexes = new HashMap<>();
+			for(Map.Entry<Candidate, List<String>> entry : candidates.entrySet()) {
+				Candidate candidate = entry.getKey();
+				List<List<String>> tableIndexes = indexes.computeIfAbsent(candidate.table(), table -> indexes(connection, table));
+				if(tableIndexes.stream().anyMatch(index -> covers(index, candidate))) {
+					result.add(new IndexAdvice(candidate.table(), candidate.columns(), entry.getValue(), true, null));
+					continue;
+				}
+
+				String created = null;
+				if(properties.isCreateMissing()) {
+					created = createIndex(connection, candidate);
+					tableIndexes.add(candidate.columns());
+				}
+				log.warn("missing index {}({}) used by {}{}", candidate.table(), String.join(", ", candidate.columns()),
+					entry.getValue(), created == null ? "" : ", created " + created);
+				result.add(new IndexAdvice(candidate.table(), candidate.columns(), entry.getValue(), false, created));
+			}
+		} catch(SQLException e) {
+			log.warn("인덱스 정보를 읽을 수 없습니다.", e);
+		}
+		advice = List.copyOf(result);
+	}
+
+	public List<IndexAdvice> getAdvice() {
+		return advice;
+	}
+
+	private List<List<Column>> conditions(Method method, Class<?> domainType) {
+		Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+		if(query != null) {
+			return query.nativeQuery() ? List.of() : List.of(jpqlConditions(query.value()));
+		}
+
+		try {
+			PartTree tree = new PartTree(method.getName(), domainType);
+			List<List<Column>> result = new ArrayList<>();
+			for(PartTree.OrPart orPart : tree) {
+				List<Column> columns = new ArrayList<>();
+				for(Part part : orPart) {
+					Column column = column(domainType, part.getProperty().getSegment(),
+						part.getProperty().hasNext() ? part.getProperty().next().getSegment() : null,
+						EQUALITY.contains(part.getType()));
+					if(column != null) {
+						columns.add(column);
+					}
+				}
+				result.add(columns);
+			}
+			return result;
+		} catch(RuntimeException e) {
+			// 쿼리 메서드가 아닌 메서드(default 메서드 등)
+			return List.of();
+		}
+	}
+
+	private List<Column> jpqlConditions(String jpql) {
+		Matcher root = ROOT.matcher(jpql);
+		if(!root.find()) {
+			return List.of();
+		}
+
+		Map<String, Class<?>> aliases = new HashMap<>();
+		Class<?> rootType = entityType(root.group(1));
+		if(rootType == null) {
+			return List.of();
+		}
+		aliases.put(root.group(2), rootType);
+
+		List<Column> columns = new ArrayList<>();
+		Matcher join = JOIN.matcher(jpql);
+		while(join.find()) {
+			Class<?> owner = aliases.get(join.group(1));
+			if(owner == null) {
+				continue;
+			}
+			// 조인 외래키 컬럼도 조건처럼 다룬다.
+			Column foreignKey = column(owner, join.group(2), null, true);
+			if(foreignKey != null) {
+				columns.add(foreignKey);
+			}
+			Attribute<?, ?> attribute = emf.getMetamodel().entity(owner).getAttribute(join.group(2));
+			if(attribute instanceof SingularAttribute<?, ?> singular) {
+				aliases.put(join.group(3), singular.getJavaType());
+			}
+		}
+
+		int where = jpql.toLowerCase(Locale.ROOT).indexOf(" where ");
+		if(where >= 0) {
+			Matcher condition = CONDITION.matcher(jpql.substring(where));
+			while(condition.find()) {
+				Class<?> type = aliases.get(condition.group(1));
+				String operator = condition.group(3).toLowerCase(Locale.ROOT);
+				Column column = type == null ? null
+					: column(type, condition.group(2), null, operator.equals("=") || operator.equals("in"));
+				if(column != null) {
+					columns.add(column);
+				}
+			}
+		}
+		return columns;
+	}
+
+	// property 가 연관관계이고 nested 가 있으면 연관 엔티티의 컬럼, 없으면 외래키 컬럼
+	private Column column(Class<?> type, String property, String nested, boolean equality) {
+		try {
+			Attribute<?, ?> attribute = emf.getMetamodel().entity(type).getAttribute(property);
+			if(nested != null && attribute instanceof SingularAttribute<?, ?> singular && attribute.isAssociation()) {
+				return column(singular.getJavaType(), nested, null, equality);
+			}
+			if(attribute.isCollection()) {
+				return null;
+			}
+
+			AbstractEntityPersister persister = persister(type);
+			String[] columnNames = persister.getPropertyColumnNames(property);
+			return columnNames.length == 1
+				? new Column(persister.getTableName().toLowerCase(Locale.ROOT), columnNames[0].toLowerCase(Locale.ROOT), equality)
+				: null;
+		} catch(IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static List<Candidate> toCandidates(List<Column> columns) {
+		Map<String, List<Column>> byTable = new LinkedHashMap<>();
+		columns.forEach(column -> byTable.computeIfAbsent(column.table(), table -> new ArrayList<>()).add(column));
+
+		List<Candidate> candidates = new ArrayList<>();
+		byTable.forEach((table, tableColumns) -> {
+			LinkedHashSet<String> ordered = new LinkedHashSet<>();
+			tableColumns.stream().filter(Column::equality).forEach(column -> ordered.add(column.name()));
+			// 범위 조건은 인덱스에서 첫 번째 것만 쓸 수 있다.
+			tableColumns.stream().filter(column -> !column.equality()).findFirst().ifPresent(column -> ordered.add(column.name()));
+			if(!ordered.isEmpty()) {
+				candidates.add(new Candidate(table, List.copyOf(ordered)));
+			}
+		});
+		return candidates;
+	}
+
+	// 인덱스 앞부분이 후보 컬럼과 같으면 된다. 마지막 컬럼(범위 조건일 수 있음)을 뺀 동등 조건 컬럼 순서는 상관없다.
+	private static boolean covers(List<String> index, Candidate candidate) {
+		List<String> columns = candidate.columns();
+		if(index.size() < columns.size()) {
+			return false;
+		}
+		int last = columns.size() - 1;
+		return Set.copyOf(index.subList(0, last)).equals(Set.copyOf(columns.subList(0, last)))
+			&& index.get(last).equals(columns.get(last));
+	}
+
+	private static List<List<String>> indexes(Connection connection, String table) {
+		Map<String, SortedMap<Short, String>> indexes = new HashMap<>();
+		try {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+			try(ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+				while(rs.next()) {
+					String indexName = rs.getString("INDEX_NAME");
+					String columnName = rs.getString("COLUMN_NAME");
+					if(indexName != null && columnName != null) {
+						indexes.computeIfAbsent(indexName, name -> new TreeMap<>())
+							.put(rs.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+					}
+				}
+			}
+		} catch(SQLException e) {
+			log.warn("{} 인덱스 정보를 읽을 수 없습니다.", table, e);
+		}
+
+		List<List<String>> result = new ArrayList<>();
+		indexes.values().forEach(columns -> result.add(new ArrayList<>(columns.values())));
+		return result;
+	}
+
+	private static String createIndex(Connection connection, Candidate candidate) {
+		String name = "idx_auto_" + candidate.table() + "_" + String.join("_", candidate.columns());
+		try(Statement statement = connection.createStatement()) {
+			statement.execute("create index " + name + " on " + candidate.table() + " (" + String.join(", ", candidate.columns()) + ")");
+			return name;
+		} catch(SQLException e) {
+			log.warn("인덱스 {} 를 만들 수 없습니다.", name, e);
+			return null;
+		}
+	}
+
+	private Class<?> entityType(String entityName) {
+		return emf.getMetamodel().getEntities().stream()
+			.filter(entity -> entity.getName().equals(entityName))
+			.map(EntityType::getJavaType)
+			.findFirst()
+			.orElse(null);
+	}
+
+	private AbstractEntityPersister persister(Class<?> type) {
+		return (AbstractEntityPersister) emf.unwrap(SessionFactoryImplementor.class)
+			.getMappingMetamodel()
+			.getEntityDescriptor(type);
+	}
+}
@@ -0,0 +1,16 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "index-advisor")
+public class IndexAdvisorProperties {
+
+	private boolean enabled = true;
+
+	// 없는 인덱스를 시작 시점에 바로 만든다.
+	private boolean createMissing = false;
+}
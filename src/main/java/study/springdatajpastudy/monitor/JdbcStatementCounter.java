@@ -0,0 +1,23 @@
+package study.springdatajpastudy.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+/**
+ * p6spy 가 감싼 커넥션에서 실행되는 모든 JDBC 문장(execute/executeQuery/executeUpdate/executeBatch)을 스레드별로 센다.
+ * Hibernate 를 거치지 않는 JdbcTemplate 실행도 포함된다. p6spy 로깅(enable-logging)을 꺼도 리스너는 동작한다.
+ */
+public class JdbcStatementCounter extends JdbcEventListener {
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	// 현재 스레드에서 지금까지 실행된 문장 수. 구간 측정은 전후 차이로 구한다.
+	public static long current() {
+		return COUNT.get()[0];
+	}
+
+	@Override
+	public void onBeforeAnyExecute(StatementInformation statementInformation) {
+		COUNT.get()[0]++;
+	}
+}
@@ -0,0 +1,58 @@
+package study.springdatajpastudy.monitor;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 메서드 하나의 호출 수, 오류 수, 반환 행 수, 실행 문장 수와 지연시간 히스토그램.
+ * 기록은 HdrHistogram Recorder(wait-free)에 하고, 조회할 때만 누적 히스토그램에 합친다.
+ */
+public class MethodMetrics {
+
+	private final Recorder recorder = new Recorder(2);
+
+	private final Histogram total = new Histogram(2);
+
+	private final LongAdder calls = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	private final LongAdder rows = new LongAdder();
+
+	private final LongAdder statements = new LongAdder();
+
+	void record(long elapsedNanos, long rows, long statements, boolean error) {
+		recorder.recordValue(elapsedNanos);
+		calls.increment();
+		this.rows.add(rows);
+		this.statements.add(statements);
+		if(error) {
+			errors.increment();
+		}
+	}
+
+	public synchronized Map<String, Object> snapshot() {
+		total.add(recorder.getIntervalHistogram());
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("count", calls.sum());
+		result.put("errors", errors.sum());
+		result.put("rows", rows.sum());
+		result.put("statements", statements.sum());
+		result.put("meanMicros", micros((long) total.getMean()));
+		result.put("p50Micros", micros(total.getValueAtPercentile(50)));
+		result.put("p99Micros", micros(total.getValueAtPercentile(99)));
+		result.put("p999Micros", micros(total.getValueAtPercentile(99.9)));
+		result.put("maxMicros", micros(total.getMaxValue()));
+		return result;
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,58 @@
+package study.springdatajpastudy.monitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 요청마다 QueryCounter 를 열고, 끝나면 N+1 의심 SQL 과 엔드포인트별 SQL 예산 초과를 보고한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+	private final QueryBudgetProperties properties;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		QueryCounter counter = QueryCounter.start(properties.getRepeatedQueryThreshold());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			counter.close();
+		}
+
+		report(endpointOf(request), counter);
+	}
+
+	private void report(String endpoint, QueryCounter counter) {
+		for(Map.Entry<String, String> suspect : counter.getNPlusOneSuspects().entrySet()) {
+			log.warn("N+1 의심 endpoint={}, callSite={}, sql={}", endpoint, suspect.getValue(), suspect.getKey());
+		}
+
+		int budget = properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultBudget());
+		if(counter.getTotal() <= budget) {
+			return;
+		}
+
+		String message = "SQL 예산 초과 endpoint=" + endpoint + ", count=" + counter.getTotal() + ", budget=" + budget;
+		if(properties.getMode() == QueryBudgetProperties.Mode.FAIL) {
+			throw new QueryBudgetExceededException(message);
+		}
+		log.warn(message);
+	}
+
+	private static String endpointOf(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : request.getRequestURI();
+	}
+}
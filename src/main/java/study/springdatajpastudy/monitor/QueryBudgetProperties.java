@@ -0,0 +1,36 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "query-budget")
+public class QueryBudgetProperties {
+
+	private boolean enabled = true;
+
+	private Mode mode = Mode.LOG;
+
+	// 엔드포인트별 설정이 없을 때 요청당 허용 SQL 수
+	private int defaultBudget = 50;
+
+	// 같은 모양 SQL 이 이 횟수 이상이면 N+1 로 본다.
+	private int repeatedQueryThreshold = 5;
+
+	// 키는 요청 매핑 패턴. 예) "[/members/{id}]": 1
+	private Map<String, Integer> endpoints = new HashMap<>();
+
+	public enum Mode {
+		// 초과 시 경고 로그
+		LOG,
+		// 경고 로그 + X-Query-Count 응답 헤더
+		HEADER,
+		// 초과 시 예외 (테스트용)
+		FAIL
+	}
+}
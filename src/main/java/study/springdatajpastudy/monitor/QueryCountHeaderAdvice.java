@@ -0,0 +1,38 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * HEADER 모드에서 응답 본문을 쓰기 직전(커밋 전)에 지금까지 실행된 SQL 수를 헤더로 내려준다.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+	public static final String HEADER_NAME = "X-Query-Count";
+
+	private final QueryBudgetProperties properties;
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return properties.isEnabled() && properties.getMode() == QueryBudgetProperties.Mode.HEADER;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+		Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+		ServerHttpResponse response) {
+		QueryCounter counter = QueryCounter.current();
+		if(counter != null) {
+			response.getHeaders().set(HEADER_NAME, String.valueOf(counter.getTotal()));
+		}
+		return body;
+	}
+}
@@ -0,0 +1,18 @@
+package study.springdatajpastudy.monitor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 실행하는 모든 SQL 을 현재 스레드의 QueryCounter 에 기록한다. SQL 은 바꾸지 않는다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		QueryCounter counter = QueryCounter.current();
+		if(counter != null) {
+			counter.record(sql);
+		}
+		return sql;
+	}
+}
@@ -0,0 +1,121 @@
+package study.springdatajpastudy.monitor;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 현재 스레드에서 실행된 SQL 수와 같은 모양 SQL 의 반복(N+1)을 센다.
+ * HTTP 요청은 QueryBudgetFilter 가, 테스트나 트랜잭션 단위 측정은 start()/close() 로 범위를 잡는다.
+ */
+public final class QueryCounter implements AutoCloseable {
+
+	private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private static final String APP_PACKAGE = "study.springdatajpastudy.";
+
+	private static final String MONITOR_PACKAGE = QueryCounter.class.getPackageName() + ".";
+
+	// 프록시/AOP 로 생성된 클래스는 호출 위치가 아니다.
+	private static final List<String> GENERATED_CLASS_MARKERS = List.of("$HibernateProxy$", "$$SpringCGLIB$$", "$$Lambda");
+
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	private final QueryCounter parent;
+
+	private final int nPlusOneThreshold;
+
+	private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+	private final Map<String, String> nPlusOneCallSites = new LinkedHashMap<>();
+
+	private int total;
+
+	private QueryCounter(QueryCounter parent, int nPlusOneThreshold) {
+		this.parent = parent;
+		this.nPlusOneThreshold = nPlusOneThreshold;
+	}
+
+	public static QueryCounter start() {
+		return start(5);
+	}
+
+	public static QueryCounter start(int nPlusOneThreshold) {
+		QueryCounter counter = new QueryCounter(CURRENT.get(), nPlusOneThreshold);
+		CURRENT.set(counter);
+		return counter;
+	}
+
+	static QueryCounter current() {
+		return CURRENT.get();
+	}
+
+	void record(String sql) {
+		total++;
+
+		String shape = shapeOf(sql);
+		int count = shapeCounts.merge(shape, 1, Integer::sum);
+		if(count == nPlusOneThreshold) {
+			nPlusOneCallSites.put(shape, callSite());
+		}
+
+		if(parent != null) {
+			parent.record(sql);
+		}
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getCount(String sqlShape) {
+		return shapeCounts.getOrDefault(shapeOf(sqlShape), 0);
+	}
+
+	/**
+	 * 같은 모양의 SQL 이 임계치 이상 반복된 경우 SQL 모양과 임계치에 도달한 시점의 애플리케이션 호출 위치.
+	 */
+	public Map<String, String> getNPlusOneSuspects() {
+		return Collections.unmodifiableMap(nPlusOneCallSites);
+	}
+
+	@Override
+	public void close() {
+		if(CURRENT.get() != this) {
+			return;
+		}
+
+		if(parent == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(parent);
+		}
+	}
+
+	static String shapeOf(String sql) {
+		String shape = IN_LIST.matcher(sql).replaceAll("(?)");
+		return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static String callSite() {
+		return STACK_WALKER.walk(frames -> frames
+			.filter(frame -> isCallSite(frame.getClassName()))
+			.findFirst()
+			.map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+			.orElse("unknown"));
+	}
+
+	// 모니터링 코드(측정 자신, 필터, Aspect)는 건너뛴다. 같은 패키지의 테스트 클래스는 호출 위치로 본다.
+	private static boolean isCallSite(String className) {
+		if(!className.startsWith(APP_PACKAGE) || className.endsWith("Aspect")) {
+			return false;
+		}
+		if(className.startsWith(MONITOR_PACKAGE) && !className.endsWith("Test")) {
+			return false;
+		}
+		return GENERATED_CLASS_MARKERS.stream().noneMatch(className::contains);
+	}
+}
@@ -0,0 +1,72 @@
+package study.springdatajpastudy.monitor;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.TeamRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({QueryBudgetProperties.class, SlowQueryProperties.class, IndexAdvisorProperties.class})
+public class QueryMonitorConfig {
+
+	@Bean
+	public QueryCountInspector queryCountInspector() {
+		return new QueryCountInspector();
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "query-budget", name = "enabled", matchIfMissing = true)
+	public QueryBudgetFilter queryBudgetFilter(QueryBudgetProperties properties) {
+		return new QueryBudgetFilter(properties);
+	}
+
+	// p6spy 스타터가 JdbcEventListener 빈을 리스너로 등록한다.
+	@Bean
+	public JdbcStatementCounter jdbcStatementCounter() {
+		return new JdbcStatementCounter();
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "slow-query", name = "enabled", matchIfMissing = true)
+	public SlowQueryListener slowQueryListener(SlowQueryProperties properties, ObjectProvider<DataSource> dataSource) {
+		return new SlowQueryListener(properties, dataSource);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "repository-metrics", name = "enabled", matchIfMissing = true)
+	public RepositoryMetrics repositoryMetrics() {
+		return new RepositoryMetrics();
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "repository-metrics", name = "enabled", matchIfMissing = true)
+	public RepositoryMetricsAspect repositoryMetricsAspect(RepositoryMetrics repositoryMetrics) {
+		return new RepositoryMetricsAspect(repositoryMetrics);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "index-advisor", name = "enabled", matchIfMissing = true)
+	public IndexAdvisor indexAdvisor(EntityManagerFactory emf, DataSource dataSource, IndexAdvisorProperties properties) {
+		return new IndexAdvisor(emf, dataSource, properties, List.of(MemberRepository.class, TeamRepository.class));
+	}
+
+	@Bean
+	public StartupTimeLogger startupTimeLogger(Environment environment) {
+		return new StartupTimeLogger(environment);
+	}
+}
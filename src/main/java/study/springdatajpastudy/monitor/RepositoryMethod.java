@@ -0,0 +1,39 @@
+package study.springdatajpastudy.monitor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 메서드 식별자. RepositoryMetricsAspect 가 호출 동안 현재 스레드에 기록해 두므로
+ * JDBC 계층(SlowQueryListener)에서 SQL 을 실행한 리포지토리 메서드를 알 수 있다.
+ */
+public record RepositoryMethod(String repository, Method method) {
+
+	private static final ThreadLocal<RepositoryMethod> CURRENT = new ThreadLocal<>();
+
+	// 리포지토리 밖(커밋 시 flush 등)에서 실행되면 null
+	public static RepositoryMethod current() {
+		return CURRENT.get();
+	}
+
+	static RepositoryMethod enter(RepositoryMethod repositoryMethod) {
+		RepositoryMethod previous = CURRENT.get();
+		CURRENT.set(repositoryMethod);
+		return previous;
+	}
+
+	static void exit(RepositoryMethod previous) {
+		if(previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	public String name() {
+		return repository + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+			.map(Class::getSimpleName)
+			.collect(Collectors.joining(",", "(", ")"));
+	}
+}
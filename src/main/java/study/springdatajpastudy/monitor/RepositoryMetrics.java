@@ -0,0 +1,23 @@
+package study.springdatajpastudy.monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리포지토리 메서드별 MethodMetrics 저장소.
+ */
+public class RepositoryMetrics {
+
+	private final Map<RepositoryMethod, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+	MethodMetrics get(RepositoryMethod repositoryMethod) {
+		return metrics.computeIfAbsent(repositoryMethod, key -> new MethodMetrics());
+	}
+
+	public Map<String, Map<String, Object>> snapshot() {
+		Map<String, Map<String, Object>> result = new TreeMap<>();
+		metrics.forEach((key, value) -> result.put(key.name(), value.snapshot()));
+		return result;
+	}
+}
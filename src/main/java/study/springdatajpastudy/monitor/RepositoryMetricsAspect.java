@@ -0,0 +1,85 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.Streamable;
+import study.springdatajpastudy.repository.RepositoryAspectOrder;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 리포지토리 메서드마다 지연시간, 반환 행 수, 실행된 JDBC 문장 수를 RepositoryMetrics 에 기록한다.
+ * 호출 동안 RepositoryMethod.current() 로 현재 메서드를 알 수 있다.
+ * 반환 행 수는 결과 타입에서 구하므로 Stream 결과는 0 으로 센다.
+ */
+@Aspect
+@Order(RepositoryAspectOrder.METRICS)
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+	private final RepositoryMetrics repositoryMetrics;
+
+	@Around("this(study.springdatajpastudy.repository.MemberRepository)")
+	public Object memberRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return measure("MemberRepository", joinPoint);
+	}
+
+	@Around("this(study.springdatajpastudy.repository.TeamRepository)")
+	public Object teamRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return measure("TeamRepository", joinPoint);
+	}
+
+	@Around("this(study.springdatajpastudy.repository.ItemRepository)")
+	public Object itemRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return measure("ItemRepository", joinPoint);
+	}
+
+	@Around("this(study.springdatajpastudy.repository.MemberJpaRepository)")
+	public Object memberJpaRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return measure("MemberJpaRepository", joinPoint);
+	}
+
+	private Object measure(String repository, ProceedingJoinPoint joinPoint) throws Throwable {
+		RepositoryMethod repositoryMethod = new RepositoryMethod(repository, ((MethodSignature) joinPoint.getSignature()).getMethod());
+		MethodMetrics metrics = repositoryMetrics.get(repositoryMethod);
+		RepositoryMethod previous = RepositoryMethod.enter(repositoryMethod);
+		long statements = JdbcStatementCounter.current();
+		long start = System.nanoTime();
+		Object result = null;
+		boolean error = true;
+		try {
+			result = joinPoint.proceed();
+			error = false;
+			return result;
+		} finally {
+			metrics.record(System.nanoTime() - start, rows(result), JdbcStatementCounter.current() - statements, error);
+			RepositoryMethod.exit(previous);
+		}
+	}
+
+	private static long rows(Object result) {
+		if(result == null || result instanceof Stream<?> || result instanceof Number || result instanceof Boolean) {
+			return 0;
+		}
+		if(result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if(result instanceof Slice<?> slice) {
+			return slice.getNumberOfElements();
+		}
+		if(result instanceof Streamable<?> streamable) {
+			return streamable.stream().count();
+		}
+		if(result instanceof Optional<?> optional) {
+			return optional.isPresent() ? 1 : 0;
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,161 @@
+package study.springdatajpastudy.monitor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * threshold 이상 걸린 JDBC 실행을 slow-query 로거(logback-spring.xml 의 롤링 JSON 파일)에 한 줄 JSON 으로 남긴다.
+ * 실행 시간 비교 외의 작업(SQL 문자열, EXPLAIN, JSON 직렬화, 로그 쓰기)은 느린 쿼리에서만, 그것도 별도 스레드에서 한다.
+ * EXPLAIN ANALYZE 는 쿼리를 실제로 실행하므로 select 만 대상으로 한다.
+ * 잠금을 거는 select(for update 등)는 다른 커넥션에서 다시 실행하면 원래 트랜잭션이 쥔 잠금을 기다리거나 새로 잠그므로 실행 없이 EXPLAIN 만 한다.
+ */
+@Slf4j
+public class SlowQueryListener extends JdbcEventListener implements DisposableBean {
+
+	private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("slow-query");
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+	private static final Pattern LOCKING_READ = Pattern.compile(
+		"\\bfor\\s+(update|share|no\\s+key\\s+update|key\\s+share)\\b|\\block\\s+in\\s+share\\s+mode\\b",
+		Pattern.CASE_INSENSITIVE);
+
+	private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	// EXPLAIN 실행 자체가 느린 쿼리로 다시 잡히지 않도록 표시
+	private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+	private final SlowQueryProperties properties;
+
+	private final long thresholdNanos;
+
+	// 데이터소스를 감싸는 p6spy 가 이 리스너를 필요로 하므로 순환 참조를 피해 나중에 꺼낸다.
+	private final ObjectProvider<DataSource> dataSource;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+		new ArrayBlockingQueue<>(100), runnable -> {
+			Thread thread = new Thread(runnable, "slow-query");
+			thread.setDaemon(true);
+			return thread;
+		}, new ThreadPoolExecutor.DiscardPolicy());
+
+	private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+	private final AtomicLong windowCount = new AtomicLong();
+
+	private final LongAdder suppressed = new LongAdder();
+
+	public SlowQueryListener(SlowQueryProperties properties, ObjectProvider<DataSource> dataSource) {
+		this.properties = properties;
+		this.thresholdNanos = properties.getThreshold().toNanos();
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		if(timeElapsedNanos < thresholdNanos || EXPLAINING.get()) {
+			return;
+		}
+		if(!tryAcquire()) {
+			suppressed.increment();
+			return;
+		}
+
+		RepositoryMethod repositoryMethod = RepositoryMethod.current();
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("timestamp", Instant.now().toString());
+		entry.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos));
+		entry.put("repositoryMethod", repositoryMethod == null ? null : repositoryMethod.name());
+		entry.put("sql", statementInformation.getSql());
+		String sqlWithValues = Objects.requireNonNullElse(statementInformation.getSqlWithValues(), "");
+		if(properties.getRedact() != SlowQueryProperties.Redact.ALL) {
+			entry.put("sqlWithValues", redact(sqlWithValues));
+		}
+		if(e != null) {
+			entry.put("error", e.getMessage());
+		}
+		entry.put("suppressed", suppressed.sumThenReset());
+
+		executor.execute(() -> write(entry, sqlWithValues));
+	}
+
+	// 고정 1분 창 안에서 maxPerMinute 개까지만 허용
+	private boolean tryAcquire() {
+		long now = System.nanoTime();
+		long start = windowStart.get();
+		if(now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+			windowCount.set(0);
+		}
+		return windowCount.incrementAndGet() <= properties.getMaxPerMinute();
+	}
+
+	private String redact(String sqlWithValues) {
+		if(properties.getRedact() == SlowQueryProperties.Redact.STRINGS) {
+			return STRING_LITERAL.matcher(sqlWithValues).replaceAll("'***'");
+		}
+		return sqlWithValues;
+	}
+
+	private void write(Map<String, Object> entry, String sqlWithValues) {
+		// 실행 계획에도 바인딩 값이 들어 있으므로 같은 규칙으로 가린다. ALL 이면 남기지 않는다.
+		if(properties.isExplain() && properties.getRedact() != SlowQueryProperties.Redact.ALL
+			&& sqlWithValues.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+			entry.put("explain", redact(explain(sqlWithValues)));
+		}
+
+		try {
+			SLOW_QUERY_LOG.info(objectMapper.writeValueAsString(entry));
+		} catch(JsonProcessingException ex) {
+			log.warn("slow query 로그를 만들 수 없습니다.", ex);
+		}
+	}
+
+	private String explain(String sqlWithValues) {
+		EXPLAINING.set(true);
+		try(Connection connection = dataSource.getObject().getConnection();
+			Statement statement = connection.createStatement()) {
+			statement.setQueryTimeout(10);
+			StringBuilder plan = new StringBuilder();
+			String explain = LOCKING_READ.matcher(sqlWithValues).find() ? "explain " : "explain analyze ";
+			try(ResultSet rs = statement.executeQuery(explain + sqlWithValues)) {
+				while(rs.next()) {
+					plan.append(rs.getString(1)).append('\n');
+				}
+			}
+			return plan.toString().stripTrailing();
+		} catch(SQLException ex) {
+			return "explain failed: " + ex.getMessage();
+		} finally {
+			EXPLAINING.set(false);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+}
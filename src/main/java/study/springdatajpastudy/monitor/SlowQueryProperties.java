@@ -0,0 +1,35 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "slow-query")
+public class SlowQueryProperties {
+
+	private boolean enabled = true;
+
+	// 이 시간 이상 걸린 JDBC 실행을 기록
+	private Duration threshold = Duration.ofMillis(200);
+
+	// 분당 최대 기록 수. 넘으면 버리고 다음 기록의 suppressed 에 개수를 남긴다.
+	private int maxPerMinute = 30;
+
+	// select 만 별도 커넥션에서 EXPLAIN ANALYZE 를 비동기로 실행
+	private boolean explain = true;
+
+	private Redact redact = Redact.STRINGS;
+
+	public enum Redact {
+		// 바인딩 값을 그대로 남긴다.
+		NONE,
+		// 문자열 값만 '***' 로 가린다.
+		STRINGS,
+		// 바인딩 값을 남기지 않는다. 실행 계획에도 값이 들어 있으므로 EXPLAIN 도 생략한다.
+		ALL
+	}
+}
@@ -0,0 +1,30 @@
+package study.springdatajpastudy.monitor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 시작 시간 기록. fast-startup 프로필 적용 전후를 같은 로그 한 줄로 비교한다.
+ * ready 는 컨텍스트 시작부터 ApplicationReadyEvent 까지, jvm 은 JVM 시작부터 지금까지다.
+ */
+@Slf4j
+public class StartupTimeLogger {
+
+	private final Environment environment;
+
+	public StartupTimeLogger(Environment environment) {
+		this.environment = environment;
+	}
+
+	@EventListener
+	public void onReady(ApplicationReadyEvent event) {
+		log.info("startup profiles={}, ready={}ms, jvm={}ms",
+			String.join(",", environment.getActiveProfiles()),
+			event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis(),
+			ManagementFactory.getRuntimeMXBean().getUptime());
+	}
+}
@@ -0,0 +1,13 @@
+package study.springdatajpastudy.repository;
+
+import java.util.concurrent.TimeUnit;
+
+public record BatchInsertResult(long rows, long elapsedNanos) {
+
+	public double rowsPerSecond() {
+		if(elapsedNanos == 0) {
+			return 0;
+		}
+		return rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+}
@@ -0,0 +1,36 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+/**
+ * chunkSize 건마다 flush/clear 하여 영속성 컨텍스트가 커지지 않게 저장한다.
+ * hibernate.jdbc.batch_size 와 chunkSize 를 맞추면 chunk 하나가 JDBC 배치 몇 번으로 나간다.
+ */
+@Slf4j
+final class BatchInserter {
+
+	private BatchInserter() {
+	}
+
+	static <T> BatchInsertResult persistAll(EntityManager em, Iterable<T> entities, int chunkSize, String label) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be positive");
+
+		long start = System.nanoTime();
+		long rows = 0;
+		for(T entity : entities) {
+			em.persist(entity);
+			if(++rows % chunkSize == 0) {
+				em.flush();
+				em.clear();
+			}
+		}
+		em.flush();
+		em.clear();
+
+		BatchInsertResult result = new BatchInsertResult(rows, System.nanoTime() - start);
+		log.info("{} batch insert rows={}, rows/sec={}", label, result.rows(), String.format("%.0f", result.rowsPerSecond()));
+		return result;
+	}
+}
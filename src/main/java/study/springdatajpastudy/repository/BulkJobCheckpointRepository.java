@@ -0,0 +1,7 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import study.springdatajpastudy.entity.BulkJobCheckpoint;
+
+public interface BulkJobCheckpointRepository extends JpaRepository<BulkJobCheckpoint, String> {
+}
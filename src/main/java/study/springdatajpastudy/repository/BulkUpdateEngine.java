@@ -0,0 +1,144 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.springdatajpastudy.entity.BulkJobCheckpoint;
+import study.springdatajpastudy.entity.Member;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bulkAgePlus 같은 JPQL 벌크 update/delete 를 member_id 범위 청크로 나누어 청크마다 커밋한다.
+ * 한 트랜잭션이 테이블 전체의 행 잠금을 오래 쥐지 않고, 실패해도 체크포인트부터 이어서 실행할 수 있다.
+ * 시작 시점의 max(member_id) 까지만 처리하므로 실행 중 새로 추가된 회원은 대상이 아니다.
+ */
+@Slf4j
+@Component
+public class BulkUpdateEngine {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	private final EntityManagerFactory emf;
+
+	private final BulkJobCheckpointRepository checkpointRepository;
+
+	private final MemberCacheEvictor memberCacheEvictor;
+
+	private final TransactionTemplate chunkTransaction;
+
+	public BulkUpdateEngine(EntityManagerFactory emf, BulkJobCheckpointRepository checkpointRepository,
+		MemberCacheEvictor memberCacheEvictor, PlatformTransactionManager transactionManager) {
+		this.emf = emf;
+		this.checkpointRepository = checkpointRepository;
+		this.memberCacheEvictor = memberCacheEvictor;
+		this.chunkTransaction = new TransactionTemplate(transactionManager);
+		this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public BulkUpdateResult execute(BulkUpdateJob job) {
+		Assert.isTrue(job.chunkSize() > 0, "chunkSize must be positive");
+		// 바깥 트랜잭션이 있으면 청크 커밋과 영속성 컨텍스트가 어긋나므로 허용하지 않는다.
+		Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+			"BulkUpdateEngine must run outside of a transaction");
+
+		long start = System.nanoTime();
+		BulkJobCheckpoint checkpoint = chunkTransaction.execute(status ->
+			checkpointRepository.findById(job.name())
+				.orElseGet(() -> checkpointRepository.save(new BulkJobCheckpoint(job.name()))));
+		if(checkpoint.isCompleted()) {
+			log.info("bulk job already completed {}", checkpoint);
+			return new BulkUpdateResult(job.name(), checkpoint.getProcessedRows(), checkpoint.getLastProcessedId(), 0, 0);
+		}
+
+		Object[] idRange = chunkTransaction.execute(status ->
+			em.createQuery("select min(m.id), max(m.id) from Member m", Object[].class).getSingleResult());
+		if(idRange[0] == null) {
+			return complete(job, 0, checkpoint.getLastProcessedId(), 0, start);
+		}
+
+		long maxId = (Long) idRange[1];
+		long from = checkpoint.getLastProcessedId() != null ? checkpoint.getLastProcessedId() : (Long) idRange[0] - 1;
+		long rowsThisRun = 0;
+		int chunks = 0;
+		String chunkJpql = chunkJpql(job.jpql());
+
+		while(from < maxId) {
+			long chunkFrom = from;
+			long chunkTo = Math.min(from + job.chunkSize(), maxId);
+
+			int rows = chunkTransaction.execute(status -> {
+				Query query = em.createQuery(chunkJpql)
+					.setParameter("chunkFrom", chunkFrom)
+					.setParameter("chunkTo", chunkTo);
+				job.parameters().forEach(query::setParameter);
+				int updated = query.executeUpdate();
+
+				checkpointRepository.findById(job.name()).orElseThrow().advance(chunkTo, updated);
+				return updated;
+			});
+
+			// 벌크 연산은 2차 캐시와 조회 결과 캐시(memberCount, memberQuery)를 거치지 않으므로 직접 비운다.
+			emf.getCache().evict(Member.class);
+			memberCacheEvictor.evictMemberCaches();
+
+			rowsThisRun += rows;
+			chunks++;
+			from = chunkTo;
+			log.info("bulk job {} chunk ({}, {}] rows={}, progress={}%", job.name(), chunkFrom, chunkTo, rows,
+				String.format("%.1f", 100.0 * (chunkTo - (Long) idRange[0] + 1) / (maxId - (Long) idRange[0] + 1)));
+
+			throttle(rowsThisRun, start, job.maxRowsPerSecond());
+		}
+
+		return complete(job, rowsThisRun, from, chunks, start);
+	}
+
+	private BulkUpdateResult complete(BulkUpdateJob job, long rowsThisRun, Long lastProcessedId, int chunks, long start) {
+		BulkJobCheckpoint checkpoint = chunkTransaction.execute(status -> {
+			BulkJobCheckpoint found = checkpointRepository.findById(job.name()).orElseThrow();
+			found.complete();
+			return found;
+		});
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		log.info("bulk job completed {} rowsThisRun={}, elapsed={}ms", checkpoint, rowsThisRun, elapsedMillis);
+		return new BulkUpdateResult(job.name(), checkpoint.getProcessedRows(), lastProcessedId, chunks, elapsedMillis);
+	}
+
+	private static String chunkJpql(String jpql) {
+		String range = "m.id > :chunkFrom and m.id <= :chunkTo";
+		int where = jpql.toLowerCase(Locale.ROOT).indexOf(" where ");
+		if(where < 0) {
+			return jpql + " where " + range;
+		}
+		// 원래 조건에 or 가 있어도 범위 조건이 항상 적용되도록 괄호로 감싼다.
+		return jpql.substring(0, where) + " where " + range + " and (" + jpql.substring(where + " where ".length()) + ")";
+	}
+
+	private static void throttle(long rows, long start, double maxRowsPerSecond) {
+		if(maxRowsPerSecond <= 0) {
+			return;
+		}
+
+		long expectedNanos = (long) (rows / maxRowsPerSecond * TimeUnit.SECONDS.toNanos(1));
+		long sleepNanos = expectedNanos - (System.nanoTime() - start);
+		if(sleepNanos > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(sleepNanos);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("bulk job interrupted", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package study.springdatajpastudy.repository;
+
+import java.util.Map;
+
+/**
+ * @param name             체크포인트 키. 같은 이름으로 다시 실행하면 마지막 커밋된 청크 다음부터 이어서 실행한다.
+ * @param jpql             별칭 m 으로 Member 를 대상으로 하는 update/delete 문
+ * @param chunkSize        청크 하나가 다루는 member_id 범위 크기
+ * @param maxRowsPerSecond 초당 처리 행 수 상한. 0 이하면 제한 없음
+ */
+public record BulkUpdateJob(String name, String jpql, Map<String, Object> parameters, int chunkSize, double maxRowsPerSecond) {
+
+	public static BulkUpdateJob bulkAgePlus(String name, int age, int chunkSize, double maxRowsPerSecond) {
+		return new BulkUpdateJob(name, "update versioned Member m set m.age = m.age + 1 where m.age >= :age",
+			Map.of("age", age), chunkSize, maxRowsPerSecond);
+	}
+}
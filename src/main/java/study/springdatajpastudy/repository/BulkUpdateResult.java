@@ -0,0 +1,4 @@
+package study.springdatajpastudy.repository;
+
+public record BulkUpdateResult(String jobName, long processedRows, Long lastProcessedId, int chunks, long elapsedMillis) {
+}
@@ -0,0 +1,16 @@
+package study.springdatajpastudy.repository;
+
+/**
+ * 작업 큐에서 아직 처리되지 않은 회원 행을 가져가는(claim) 방법.
+ */
+public enum ClaimStrategy {
+
+	// FOR UPDATE SKIP LOCKED. 다른 워커가 잠근 행은 건너뛰고 다음 행을 가져간다.
+	SKIP_LOCKED,
+
+	// SKIP LOCKED 를 지원하지 않는 DB 용. mod(member_id, 워커 수) 로 행을 나눠 워커끼리 같은 행을 잠그지 않는다.
+	PARTITIONED,
+
+	// 일반 FOR UPDATE. 잠금 대기 시간 힌트만 준다. 비교용 기준선
+	WAIT
+}
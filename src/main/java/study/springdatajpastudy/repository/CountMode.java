@@ -0,0 +1,25 @@
+package study.springdatajpastudy.repository;
+
+/**
+ * Page 조회 시 전체 개수(total)를 구하는 방법.
+ */
+public enum CountMode {
+
+	// 항상 count 쿼리 실행
+	EXACT,
+
+	// 첫 페이지가 size 보다 작거나 마지막 페이지면 count 쿼리 생략
+	SKIP_WHEN_SHORT,
+
+	// 쿼리와 파라미터를 키로 count 결과를 TTL 캐시에 보관. 회원 쓰기 시 무효화된다.
+	CACHED,
+
+	// 통계 정보의 테이블 행 수 추정치 사용. 조건절이 없는 조회(findAll, findSelfPageByAge, findByNativeProjection)에만 적용되고
+	// 조건절이 있는 조회(findPageByAge)는 SKIP_WHEN_SHORT 로 동작한다.
+	ESTIMATED,
+
+	// count 쿼리를 applicationTaskExecutor 에서 별도 커넥션/읽기 전용 트랜잭션으로 본 쿼리와 동시에 실행.
+	// 본 쿼리 결과로 total 을 알 수 있으면 count 는 취소한다.
+	// 호출한 쪽이 트랜잭션 안이면 커넥션을 쥔 채 두 번째 커넥션을 기다리게 되므로 SKIP_WHEN_SHORT 처럼 순서대로 실행한다.
+	PARALLEL
+}
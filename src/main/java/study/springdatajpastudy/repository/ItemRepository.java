@@ -3,5 +3,5 @@ package study.springdatajpastudy.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.springdatajpastudy.entity.Item;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, ItemRepositoryCustom {
 }
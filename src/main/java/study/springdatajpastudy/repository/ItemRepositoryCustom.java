@@ -0,0 +1,9 @@
+package study.springdatajpastudy.repository;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+	// 없는 id 만 insert 한다. 새로 insert 된 건수를 반환한다.
+	int upsertAll(Collection<String> ids, int chunkSize);
+}
@@ -0,0 +1,60 @@
+package study.springdatajpastudy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * save/merge 처럼 id 마다 select 하지 않고 chunk 하나를 MERGE 문 하나로 보낸다.
+	 * MERGE INTO ... KEY(id) 는 이미 있는 행의 created_date 를 덮어쓰므로
+	 * MERGE ... USING 으로 없는 행만 insert 하여 최초 생성 시각을 유지한다.
+	 */
+	@Override
+	public int upsertAll(Collection<String> ids, int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be positive");
+
+		// 같은 chunk 안의 중복 id 는 둘 다 not matched 로 insert 되므로 미리 제거
+		List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		LocalDateTime createdDate = LocalDateTime.now();
+
+		int inserted = 0;
+		for(int from = 0; from < distinctIds.size(); from += chunkSize) {
+			List<String> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+			inserted += jdbcTemplate.update(mergeSql(chunk.size()), mergeArgs(chunk, createdDate));
+		}
+		return inserted;
+	}
+
+	private static String mergeSql(int rows) {
+		StringBuilder sql = new StringBuilder("merge into item t using (values ");
+		for(int i = 0; i < rows; i++) {
+			if(i > 0) {
+				sql.append(", ");
+			}
+			sql.append("(cast(? as varchar(255)), cast(? as timestamp(6)))");
+		}
+		return sql.append(") s(id, created_date) on t.id = s.id ")
+			.append("when not matched then insert (id, created_date) values (s.id, s.created_date)")
+			.toString();
+	}
+
+	private static Object[] mergeArgs(List<String> ids, LocalDateTime createdDate) {
+		Object[] args = new Object[ids.size() * 2];
+		for(int i = 0; i < ids.size(); i++) {
+			args[i * 2] = ids.get(i);
+			args[i * 2 + 1] = createdDate;
+		}
+		return args;
+	}
+}
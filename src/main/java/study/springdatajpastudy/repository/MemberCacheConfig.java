@@ -0,0 +1,25 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MemberCacheConfig {
+
+	// 트랜잭션 안에서 계산된 조회 결과는 커밋 후에 캐시에 넣는다. 롤백되면 넣지 않는다.
+	@Bean
+	public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if(bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+					return new TransactionAwareCacheManagerProxy(cacheManager);
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,54 @@
+package study.springdatajpastudy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * MemberRepository 를 통한 쓰기(save*, delete*, @Modifying)와 MemberJpaRepository 벌크 update 가 끝나면 회원 관련 캐시를 비운다.
+ * TeamRepository 쓰기는 팀 이름이 들어가는 조회 결과 캐시만 비운다.
+ * 변경 감지로 flush 되는 쓰기는 MemberCacheEvictListener 가 처리한다.
+ */
+@Aspect
+@Order(RepositoryAspectOrder.AFTER_WRITE)
+@Component
+@RequiredArgsConstructor
+public class MemberCacheEvictAspect {
+
+	private final MemberCacheEvictor memberCacheEvictor;
+
+	@AfterReturning("this(study.springdatajpastudy.repository.MemberRepository)")
+	public void evictOnMemberWrite(JoinPoint joinPoint) {
+		if(isWrite(joinPoint)) {
+			memberCacheEvictor.evictMemberCaches();
+		}
+	}
+
+	@AfterReturning("execution(* study.springdatajpastudy.repository.MemberJpaRepository.bulk*(..))")
+	public void evictOnMemberBulkUpdate() {
+		memberCacheEvictor.evictMemberCaches();
+	}
+
+	@AfterReturning("this(study.springdatajpastudy.repository.TeamRepository)")
+	public void evictOnTeamWrite(JoinPoint joinPoint) {
+		if(isWrite(joinPoint)) {
+			memberCacheEvictor.evictTeamCaches();
+		}
+	}
+
+	private boolean isWrite(JoinPoint joinPoint) {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		String name = method.getName();
+		return name.startsWith("save")
+			|| name.startsWith("delete")
+			|| AnnotatedElementUtils.hasAnnotation(method, Modifying.class);
+	}
+}
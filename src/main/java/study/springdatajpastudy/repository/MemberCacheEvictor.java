@@ -0,0 +1,57 @@
+package study.springdatajpastudy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.springdatajpastudy.entity.MemberCacheInvalidator;
+
+/**
+ * 회원/팀 쓰기 시 조회 결과 캐시를 비운다.
+ * 캐시 매니저는 트랜잭션 인식 프록시(MemberCacheConfig)라 트랜잭션 안의 put 은 커밋 후에 반영되는데,
+ * 쓰기가 있었던 트랜잭션에서 계산된 값이 남지 않도록 커밋/롤백 후 한 번 더 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberCacheEvictor implements MemberCacheInvalidator {
+
+	private static final String[] MEMBER_WRITE_CACHES = {MemberCaches.COUNT, MemberCaches.QUERY};
+
+	private static final String[] TEAM_WRITE_CACHES = {MemberCaches.QUERY};
+
+	private final CacheManager cacheManager;
+
+	@Override
+	public void evictMemberCaches() {
+		evict(MEMBER_WRITE_CACHES);
+	}
+
+	@Override
+	public void evictTeamCaches() {
+		evict(TEAM_WRITE_CACHES);
+	}
+
+	private void evict(String[] cacheNames) {
+		invalidate(cacheNames);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					invalidate(cacheNames);
+				}
+			});
+		}
+	}
+
+	// clear() 는 트랜잭션 인식 캐시에서 커밋 후로 미뤄지므로 즉시 비우는 invalidate() 를 쓴다.
+	private void invalidate(String[] cacheNames) {
+		for(String cacheName : cacheNames) {
+			Cache cache = cacheManager.getCache(cacheName);
+			if(cache != null) {
+				cache.invalidate();
+			}
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package study.springdatajpastudy.repository;
+
+public final class MemberCaches {
+
+	public static final String COUNT = "memberCount";
+
+	public static final String QUERY = "memberQuery";
+
+	private MemberCaches() {
+	}
+}
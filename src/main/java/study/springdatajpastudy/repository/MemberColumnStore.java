@@ -0,0 +1,309 @@
+package study.springdatajpastudy.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.springdatajpastudy.entity.MemberSnapshotSink;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Member 의 id, age, team_id 를 id 순으로 정렬된 기본형 배열로 들고 있는 읽기 전용 모델.
+ * 나이/팀 기준 집계를 테이블 스캔 없이 배열 순회로 답한다.
+ * 엔티티 변경은 커밋 후 MemberSnapshotListener 가 한 건씩 반영하고, 벌크 update 뒤에는 전체를 다시 읽는다.
+ * refresh 는 잠금 없이 새 배열에 읽고 쓰기 잠금은 교체할 때만 잡는다.
+ * 읽는 동안 들어온 변경은 새 배열에 다시 반영한다(upsert/remove 라 이미 읽은 변경을 다시 반영해도 같다).
+ */
+@Slf4j
+public class MemberColumnStore implements MemberSnapshotSink, DisposableBean {
+
+	// 팀이 없는 회원의 team id
+	public static final long NO_TEAM = MemberSnapshotSink.NO_TEAM;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// refresh 끼리만 순서대로 실행한다. 조회는 막지 않는다.
+	private final Lock refreshLock = new ReentrantLock();
+
+	private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "member-snapshot-refresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final AtomicLong refreshes = new AtomicLong();
+
+	private volatile long lastRefreshMillis;
+
+	private Columns columns = new Columns();
+
+	// refresh 가 읽는 동안 들어온 변경. 읽는 중이 아니면 null
+	private List<Consumer<Columns>> pendingChanges;
+
+	public MemberColumnStore(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void refresh() {
+		refreshLock.lock();
+		try {
+			long start = System.nanoTime();
+			lock.writeLock().lock();
+			try {
+				pendingChanges = new ArrayList<>();
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			Columns loaded = new Columns();
+			try {
+				jdbcTemplate.query("select member_id, age, team_id from member order by member_id", rs -> {
+					loaded.append(rs.getLong(1), rs.getInt(2), rs.getLong(3));
+				});
+			} catch(RuntimeException e) {
+				lock.writeLock().lock();
+				try {
+					pendingChanges = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+				throw e;
+			}
+
+			lock.writeLock().lock();
+			try {
+				pendingChanges.forEach(change -> change.accept(loaded));
+				pendingChanges = null;
+				columns = loaded;
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			refreshes.incrementAndGet();
+			lastRefreshMillis = (System.nanoTime() - start) / 1_000_000;
+			log.debug("member snapshot refreshed rows={}, elapsed={}ms", loaded.size, lastRefreshMillis);
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	public Future<?> refreshAsync() {
+		return refresher.submit(this::refresh);
+	}
+
+	@Override
+	public void upsert(long id, int age, long teamId) {
+		apply(columns -> columns.upsert(id, age, teamId));
+	}
+
+	@Override
+	public void remove(long id) {
+		apply(columns -> columns.remove(id));
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return columns.size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * minAge <= age <= maxAge 인 회원 수. teamId 가 null 이면 전체 팀.
+	 */
+	public long count(Long teamId, int minAge, int maxAge) {
+		lock.readLock().lock();
+		try {
+			Columns c = columns;
+			long count = 0;
+			if(teamId == null) {
+				for(int i = 0; i < c.size; i++) {
+					int age = c.ages[i];
+					if(age >= minAge && age <= maxAge) {
+						count++;
+					}
+				}
+			} else {
+				long team = teamId;
+				for(int i = 0; i < c.size; i++) {
+					int age = c.ages[i];
+					if(c.teamIds[i] == team && age >= minAge && age <= maxAge) {
+						count++;
+					}
+				}
+			}
+			return count;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 나이별 회원 수. teamId 가 null 이면 전체 팀.
+	 */
+	public SortedMap<Integer, Long> countByAge(Long teamId) {
+		lock.readLock().lock();
+		try {
+			Columns c = columns;
+			SortedMap<Integer, Long> result = new TreeMap<>();
+			if(c.size == 0) {
+				return result;
+			}
+
+			boolean allTeams = teamId == null;
+			long team = allTeams ? NO_TEAM : teamId;
+			long[] buckets = new long[c.maxAge - c.minAge + 1];
+			for(int i = 0; i < c.size; i++) {
+				if(allTeams || c.teamIds[i] == team) {
+					buckets[c.ages[i] - c.minAge]++;
+				}
+			}
+			for(int i = 0; i < buckets.length; i++) {
+				if(buckets[i] > 0) {
+					result.put(c.minAge + i, buckets[i]);
+				}
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 팀별로 age >= minAge 인 회원 수. 팀이 없는 회원은 NO_TEAM 으로 센다.
+	 */
+	public SortedMap<Long, Long> countByTeam(int minAge) {
+		lock.readLock().lock();
+		long[] matched;
+		int count = 0;
+		try {
+			Columns c = columns;
+			matched = new long[c.size];
+			for(int i = 0; i < c.size; i++) {
+				if(c.ages[i] >= minAge) {
+					matched[count++] = c.teamIds[i];
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		// 행마다 Long 박싱을 하지 않도록 정렬 후 연속 구간 길이로 센다.
+		Arrays.sort(matched, 0, count);
+		SortedMap<Long, Long> result = new TreeMap<>();
+		for(int start = 0, end; start < count; start = end) {
+			end = start + 1;
+			while(end < count && matched[end] == matched[start]) {
+				end++;
+			}
+			result.put(matched[start], (long) (end - start));
+		}
+		return result;
+	}
+
+	public long getRefreshes() {
+		return refreshes.get();
+	}
+
+	public long getLastRefreshMillis() {
+		return lastRefreshMillis;
+	}
+
+	@Override
+	public void destroy() {
+		refresher.shutdownNow();
+	}
+
+	private void apply(Consumer<Columns> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(columns);
+			if(pendingChanges != null) {
+				pendingChanges.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// id 순으로 정렬된 열 배열. MemberColumnStore 의 잠금 안에서만, 또는 refresh 가 교체 전에 혼자 쓴다.
+	private static final class Columns {
+
+		private long[] ids = new long[INITIAL_CAPACITY];
+
+		private int[] ages = new int[INITIAL_CAPACITY];
+
+		private long[] teamIds = new long[INITIAL_CAPACITY];
+
+		private int size;
+
+		// countByAge 버킷 범위. 줄어들지는 않는다.
+		private int minAge = Integer.MAX_VALUE;
+
+		private int maxAge = Integer.MIN_VALUE;
+
+		// refresh 는 id 순으로 읽으므로 뒤에 붙이기만 한다.
+		private void append(long id, int age, long teamId) {
+			ensureCapacity(size + 1);
+			set(size++, id, age, teamId);
+		}
+
+		private void upsert(long id, int age, long teamId) {
+			int index = Arrays.binarySearch(ids, 0, size, id);
+			if(index < 0) {
+				index = -index - 1;
+				ensureCapacity(size + 1);
+				System.arraycopy(ids, index, ids, index + 1, size - index);
+				System.arraycopy(ages, index, ages, index + 1, size - index);
+				System.arraycopy(teamIds, index, teamIds, index + 1, size - index);
+				size++;
+			}
+			set(index, id, age, teamId);
+		}
+
+		private void remove(long id) {
+			int index = Arrays.binarySearch(ids, 0, size, id);
+			if(index >= 0) {
+				System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+				System.arraycopy(ages, index + 1, ages, index, size - index - 1);
+				System.arraycopy(teamIds, index + 1, teamIds, index, size - index - 1);
+				size--;
+			}
+		}
+
+		private void set(int index, long id, int age, long teamId) {
+			ids[index] = id;
+			ages[index] = age;
+			teamIds[index] = teamId;
+			minAge = Math.min(minAge, age);
+			maxAge = Math.max(maxAge, age);
+		}
+
+		private void ensureCapacity(int capacity) {
+			if(capacity > ids.length) {
+				int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+				ids = Arrays.copyOf(ids, newCapacity);
+				ages = Arrays.copyOf(ages, newCapacity);
+				teamIds = Arrays.copyOf(teamIds, newCapacity);
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 키셋 페이징 위치(member_id)와 클라이언트에 내려주는 불투명 커서 문자열을 변환한다.
+ */
+public final class MemberCursor {
+
+	private MemberCursor() {
+	}
+
+	public static KeysetScrollPosition decode(String cursor) {
+		if(!StringUtils.hasText(cursor)) {
+			return ScrollPosition.keyset();
+		}
+
+		try {
+			String lastId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			return ScrollPosition.forward(Map.of("id", Long.parseLong(lastId)));
+		} catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException("잘못된 커서입니다. cursor=" + cursor, e);
+		}
+	}
+
+	public static String encode(ScrollPosition position) {
+		if(!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+			return null;
+		}
+
+		String lastId = String.valueOf(keyset.getKeys().get("id"));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+	}
+}
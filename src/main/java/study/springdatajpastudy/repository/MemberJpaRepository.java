@@ -19,6 +19,11 @@ public class MemberJpaRepository {
 		return member;
 	}
 
+	// chunkSize 건마다 flush/clear 하며 저장한다. BatchInserter 참고
+	public BatchInsertResult saveAllBatched(Iterable<Member> members, int chunkSize) {
+		return BatchInserter.persistAll(em, members, chunkSize, "Member");
+	}
+
 	public void delete(Member member) {
 		em.remove(member);
 	}
@@ -63,6 +68,26 @@ public class MemberJpaRepository {
 			.getResultList();
 	}
 
+	// findByPage와 같은 정렬(username desc)에서 마지막으로 본 (username, id) 다음부터 조회한다.
+	public List<Member> findByPageAfter(int age, String lastUsername, Long lastId, int limit) {
+		if(lastId == null) {
+			return em.createQuery("select m from Member m where m.age = :age order by m.username desc, m.id desc", Member.class)
+				.setParameter("age", age)
+				.setMaxResults(limit)
+				.getResultList();
+		}
+
+		return em.createQuery("select m from Member m " +
+					"where m.age = :age " +
+					"and (m.username < :username or (m.username = :username and m.id < :id)) " +
+					"order by m.username desc, m.id desc", Member.class)
+			.setParameter("age", age)
+			.setParameter("username", lastUsername)
+			.setParameter("id", lastId)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
 	public long totalCount(int age) {
 		return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
 			.setParameter("age", age)
@@ -71,7 +96,7 @@ public class MemberJpaRepository {
 
 	public int bulkAgePlus(int age) {
 		return em.createQuery(
-				"update Member m " +
+				"update versioned Member m " +
 					"set m.age = m.age + 1 " +
 					"where m.age >= :age")
 			.setParameter("age", age)
@@ -0,0 +1,22 @@
+package study.springdatajpastudy.repository;
+
+/**
+ * MemberProjection 구현 레코드. 프록시와 백킹 맵 없이 행 하나당 객체 하나만 만든다.
+ */
+public record MemberProjectionRecord(Long id, String username, String teamName) implements MemberProjection {
+
+	@Override
+	public Long getId() {
+		return id;
+	}
+
+	@Override
+	public String getUsername() {
+		return username;
+	}
+
+	@Override
+	public String getTeamName() {
+		return teamName;
+	}
+}
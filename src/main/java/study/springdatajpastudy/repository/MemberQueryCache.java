@@ -0,0 +1,18 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.cache.annotation.Cacheable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 조회 결과를 메서드 이름 + 파라미터 키로 memberQuery 캐시에 보관한다.
+ * 무효화는 MemberCacheEvictAspect, MemberCacheEvictListener 가 회원/팀 쓰기 시 처리한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Cacheable(cacheNames = MemberCaches.QUERY, keyGenerator = "memberQueryKeyGenerator")
+public @interface MemberQueryCache {
+}
@@ -0,0 +1,18 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+// 파라미터 없는 조회 메서드끼리 같은 키(SimpleKey.EMPTY)를 쓰지 않도록 메서드 이름을 키에 포함한다.
+@Component("memberQueryKeyGenerator")
+public class MemberQueryKeyGenerator implements KeyGenerator {
+
+	@Override
+	public Object generate(Object target, Method method, Object... params) {
+		return new SimpleKey(method.getName(), SimpleKeyGenerator.generateKey(params));
+	}
+}
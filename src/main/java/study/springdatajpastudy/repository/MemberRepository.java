@@ -7,11 +7,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.springdatajpastudy.dto.MemberDto;
 import study.springdatajpastudy.entity.Member;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member> {
 
@@ -23,9 +25,11 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 	@Query("select m from Member m where m.username = :username and m.age = :age")
 	List<Member> findMember(@Param("username") String username, @Param("age") int age);
 
+	@MemberQueryCache
 	@Query("select m.username from Member m")
 	List<String> findUsernameList();
 
+	@MemberQueryCache
 	@Query("select new study.springdatajpastudy.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
 	List<MemberDto> findMemberDto();
 
@@ -51,7 +55,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 	Page<Member> findSelfPageByAge(int age, Pageable pageable);
 
 	@Modifying
-	@Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+	@Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
 	int bulkAgePlus(@Param("age") int age);
 
 	@Query("select m from Member m left join fetch m.team")
@@ -69,10 +73,14 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 	@EntityGraph("Member.all")
 	List<Member> findEntityGraphByUsername(@Param("username") String username);
 
+	// 읽기 전용 트랜잭션이어야 replica 라우팅 대상이 된다.
+	@Transactional(readOnly = true)
 	@QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	Member findReadOnlyByUsername(String username);
 
+	// 잠금을 무한정 기다리지 않도록 대기 시간(ms)을 제한한다. 초과하면 PessimisticLockingFailureException
 	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(value = @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
 	List<Member> findLockByUsername(String username);
 
 	<T> List<T> findProjectionsByUsername(@Param("username") String username, Class<T> type);
@@ -80,9 +88,25 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 	@Query(value = "select * from member where username = ?", nativeQuery = true)
 	Member findByNativeQuery(String username);
 
+	// Hibernate 네이티브 쿼리 대신 JDBC 로 실행하고 레코드로 바로 매핑한다.
+	@NativeFastQuery(resultType = MemberProjectionRecord.class)
 	@Query(value = "select m.member_id as id, m.username, t.name as teamName " +
-		"from member m left join team t",
+		"from member m left join team t on m.team_id = t.team_id",
 		countQuery = "select count(*) from member",
 		nativeQuery = true)
 	Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+	@NativeFastQuery(resultType = MemberProjectionRecord.class)
+	@Query(value = "select m.member_id as id, m.username, t.name as team_name " +
+		"from member m left join team t on m.team_id = t.team_id where m.age = ?",
+		nativeQuery = true)
+	Slice<MemberProjection> findNativeSliceByAge(int age, Pageable pageable);
+
+	// 생성자 표현식으로 레코드를 바로 만든다. 영속성 컨텍스트에 엔티티가 쌓이지 않는다. 트랜잭션 안에서 사용하고 반드시 close.
+	@QueryHints(value = {
+		@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("select new study.springdatajpastudy.repository.MemberProjectionRecord(m.id, m.username, t.name) " +
+		"from Member m left join m.team t")
+	Stream<MemberProjection> streamMemberProjections();
 }
@@ -1,10 +1,45 @@
 package study.springdatajpastudy.repository;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import study.springdatajpastudy.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MemberRepositoryCustom {
 
 	List<Member> findMemberCustom();
+
+	// member_id 기준 키셋 페이징. offset 없이 마지막 id 다음부터 size 만큼 조회한다.
+	Window<Member> findMemberWindow(KeysetScrollPosition position, int size);
+
+	// 아직 초기화되지 않은 members 의 team 프록시를 IN 쿼리 한 번으로 초기화한다.
+	void loadTeams(Collection<Member> members);
+
+	// 아래 Page 조회는 total 을 구하는 방법을 CountMode 로 고른다.
+	Page<Member> findAll(Pageable pageable, CountMode countMode);
+
+	Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode);
+
+	Page<Member> findSelfPageByAge(int age, Pageable pageable, CountMode countMode);
+
+	Page<MemberProjection> findByNativeProjection(Pageable pageable, CountMode countMode);
+
+	// findProjectionsByUsername 과 같지만 인터페이스 프로젝션을 프록시 대신 구현 레코드/DTO 로 바로 만든다.
+	// UsernameOnly, UsernameOnlyDto, NestedClosedProjections, MemberProjection 을 지원한다.
+	<T> List<T> findDirectProjectionsByUsername(String username, Class<T> type);
+
+	// MemberSpec 조합을 캐시된 JPQL 로 실행한다. findAll(Specification) 과 결과는 같다.
+	List<Member> findAllCompiled(MemberSpecification spec);
+
+	// 작업 큐 방식으로 해당 나이의 회원을 최대 limit 명 잠가서 가져간다. 잠금은 호출한 트랜잭션이 끝날 때 풀린다.
+	// DB 가 SKIP LOCKED 를 지원하면 SKIP_LOCKED, 아니면 PARTITIONED 를 사용한다.
+	List<Member> claimByAge(int age, int limit, QueueWorker worker);
+
+	List<Member> claimByAge(int age, int limit, QueueWorker worker, ClaimStrategy strategy);
+
+	ClaimStrategy defaultClaimStrategy();
 }
@@ -1,19 +1,259 @@
 package study.springdatajpastudy.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+	private static final String PROJECTION_PACKAGE = "study.springdatajpastudy.repository.";
+
+	// 프로젝션 타입별 생성자 표현식. 행마다 구현 객체 하나만 만든다.
+	private static final Map<Class<?>, String> DIRECT_PROJECTIONS = Map.of(
+		UsernameOnly.class, "select new " + PROJECTION_PACKAGE + "UsernameOnlyDto(m.username) from Member m",
+		UsernameOnlyDto.class, "select new " + PROJECTION_PACKAGE + "UsernameOnlyDto(m.username) from Member m",
+		NestedClosedProjections.class, "select new " + PROJECTION_PACKAGE + "NestedClosedProjectionsRecord(m.username, t.name) " +
+			"from Member m left join m.team t",
+		MemberProjection.class, "select new " + PROJECTION_PACKAGE + "MemberProjectionRecord(m.id, m.username, t.name) " +
+			"from Member m left join m.team t");
+
+	private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+	private static final int CLAIM_LOCK_TIMEOUT_MILLIS = 3000;
+
 	private final EntityManager em;
 
+	private final CacheManager cacheManager;
+
+	private final MemberSpecCompiler memberSpecCompiler;
+
+	private final ParallelCountExecutor parallelCountExecutor;
+
 	@Override
 	public List<Member> findMemberCustom() {
 		return em.createQuery("select m from Member m", Member.class)
 			.getResultList();
 	}
+
+	@Override
+	public Window<Member> findMemberWindow(KeysetScrollPosition position, int size) {
+		TypedQuery<Member> query = position.isInitial()
+			? em.createQuery("select m from Member m order by m.id asc", Member.class)
+			: em.createQuery("select m from Member m where m.id > :lastId order by m.id asc", Member.class)
+				.setParameter("lastId", position.getKeys().get("id"));
+
+		// 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+		List<Member> result = query
+			.setMaxResults(size + 1)
+			.getResultList();
+
+		boolean hasNext = result.size() > size;
+		List<Member> content = hasNext ? result.subList(0, size) : result;
+		return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).getId())), hasNext);
+	}
+
+	@Override
+	public void loadTeams(Collection<Member> members) {
+		List<Team> proxies = members.stream()
+			.map(Member::getTeam)
+			.filter(team -> team != null && !Hibernate.isInitialized(team))
+			.toList();
+		if(proxies.isEmpty()) {
+			return;
+		}
+
+		Set<Object> teamIds = new HashSet<>();
+		for(Team proxy : proxies) {
+			teamIds.add(((HibernateProxy) proxy).getHibernateLazyInitializer().getIdentifier());
+		}
+		em.createQuery("select t from Team t where t.id in :ids", Team.class)
+			.setParameter("ids", teamIds)
+			.getResultList();
+
+		// 팀이 이미 영속성 컨텍스트에 있으므로 추가 SQL 없이 프록시만 초기화된다.
+		proxies.forEach(Hibernate::initialize);
+	}
+
+	@Override
+	public Page<Member> findAll(Pageable pageable, CountMode countMode) {
+		return toPage(() -> em.createQuery(QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m"), Member.class)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList(),
+			pageable, countMode, "findAll", () ->
+				em.createQuery("select count(m) from Member m", Long.class)
+					.getSingleResult());
+	}
+
+	@Override
+	public Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode) {
+		return toPage(() -> em.createQuery(QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"), Member.class)
+				.setParameter("age", age)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList(),
+			// 조건절이 있어 테이블 전체 행 수 추정치를 쓸 수 없다.
+			pageable, withoutEstimate(countMode), "findPageByAge:" + age, () ->
+				em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+					.setParameter("age", age)
+					.getSingleResult());
+	}
+
+	@Override
+	public Page<Member> findSelfPageByAge(int age, Pageable pageable, CountMode countMode) {
+		return toPage(() -> em.createQuery(QueryUtils.applySorting("select m from Member m left join m.team t", pageable.getSort(), "m"), Member.class)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList(),
+			pageable, countMode, "findSelfPageByAge", () ->
+				em.createQuery("select count(m) from Member m", Long.class)
+					.getSingleResult());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Page<MemberProjection> findByNativeProjection(Pageable pageable, CountMode countMode) {
+		String sql = "select m.member_id as id, m.username, t.name as teamName " +
+			"from member m left join team t on m.team_id = t.team_id";
+		return toPage(() -> {
+				List<Object[]> rows = em.createNativeQuery(QueryUtils.applySorting(sql, pageable.getSort(), "m"))
+					.setFirstResult((int) pageable.getOffset())
+					.setMaxResults(pageable.getPageSize())
+					.getResultList();
+				return rows.stream()
+					.map(MemberRepositoryImpl::toProjection)
+					.toList();
+			},
+			pageable, countMode, "findByNativeProjection", () ->
+				((Number) em.createNativeQuery("select count(*) from member").getSingleResult()).longValue());
+	}
+
+	private static MemberProjection toProjection(Object[] row) {
+		Long id = row[0] == null ? null : ((Number) row[0]).longValue();
+		return new MemberProjectionRecord(id, (String) row[1], (String) row[2]);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> List<T> findDirectProjectionsByUsername(String username, Class<T> type) {
+		String select = DIRECT_PROJECTIONS.get(type);
+		if(select == null) {
+			throw new IllegalArgumentException("Unsupported projection type: " + type.getName());
+		}
+
+		// 인터페이스 타입은 생성자 표현식 결과 타입과 달라 타입 없는 쿼리로 실행한다.
+		return em.createQuery(select + " where m.username = :username")
+			.setParameter("username", username)
+			.getResultList();
+	}
+
+	@Override
+	public List<Member> findAllCompiled(MemberSpecification spec) {
+		return spec.bind(em.createQuery(memberSpecCompiler.compile(spec), Member.class))
+			.getResultList();
+	}
+
+	@Override
+	public List<Member> claimByAge(int age, int limit, QueueWorker worker) {
+		return claimByAge(age, limit, worker, defaultClaimStrategy());
+	}
+
+	@Override
+	public List<Member> claimByAge(int age, int limit, QueueWorker worker, ClaimStrategy strategy) {
+		// 트랜잭션 밖에서 잠그면 조회 직후 잠금이 풀려 claim 의미가 없다.
+		Assert.state(TransactionSynchronizationManager.isActualTransactionActive(),
+			"claimByAge must run inside a transaction");
+
+		TypedQuery<Member> query = switch(strategy) {
+			case SKIP_LOCKED -> em.createQuery("select m from Member m where m.age = :age order by m.id", Member.class)
+				.setHint(LOCK_TIMEOUT_HINT, LockOptions.SKIP_LOCKED);
+			case PARTITIONED -> em.createQuery(
+					"select m from Member m where m.age = :age and mod(m.id, :workers) = :worker order by m.id", Member.class)
+				.setParameter("workers", (long) worker.count())
+				.setParameter("worker", (long) worker.index())
+				.setHint(LOCK_TIMEOUT_HINT, CLAIM_LOCK_TIMEOUT_MILLIS);
+			case WAIT -> em.createQuery("select m from Member m where m.age = :age order by m.id", Member.class)
+				.setHint(LOCK_TIMEOUT_HINT, CLAIM_LOCK_TIMEOUT_MILLIS);
+		};
+
+		return query
+			.setParameter("age", age)
+			.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	@Override
+	public ClaimStrategy defaultClaimStrategy() {
+		// 지원하지 않는 방언에서 SKIP LOCKED 힌트는 조용히 무시되고 일반 FOR UPDATE 가 되므로 미리 확인한다.
+		boolean supportsSkipLocked = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+			.getJdbcServices()
+			.getDialect()
+			.supportsSkipLocked();
+		return supportsSkipLocked ? ClaimStrategy.SKIP_LOCKED : ClaimStrategy.PARTITIONED;
+	}
+
+	// ESTIMATED 는 member 테이블 전체 행 수 추정치라 조건절이 있는 count 에는 쓰지 않는다.
+	private static CountMode withoutEstimate(CountMode countMode) {
+		return countMode == CountMode.ESTIMATED ? CountMode.SKIP_WHEN_SHORT : countMode;
+	}
+
+	private <T> Page<T> toPage(Supplier<List<T>> contentQuery, Pageable pageable, CountMode countMode, String countKey,
+		LongSupplier countQuery) {
+		// PARALLEL 은 본 쿼리보다 count 를 먼저 시작해야 하므로 본 쿼리도 ParallelCountExecutor 가 실행한다.
+		return switch(countMode) {
+			case EXACT -> new PageImpl<>(contentQuery.get(), pageable, countQuery.getAsLong());
+			case SKIP_WHEN_SHORT -> PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+			case CACHED -> PageableExecutionUtils.getPage(contentQuery.get(), pageable, () -> cachedCount(countKey, countQuery));
+			case ESTIMATED -> {
+				List<T> content = contentQuery.get();
+				yield PageableExecutionUtils.getPage(content, pageable, () ->
+					Math.max(estimatedMemberCount(), pageable.getOffset() + content.size()));
+			}
+			case PARALLEL -> parallelCountExecutor.page(contentQuery, pageable, countQuery);
+		};
+	}
+
+	private long cachedCount(String countKey, LongSupplier countQuery) {
+		Cache cache = cacheManager.getCache(MemberCaches.COUNT);
+		if(cache == null) {
+			return countQuery.getAsLong();
+		}
+
+		// get(key, loader) 는 트랜잭션과 상관없이 바로 캐시에 넣으므로 get/put 으로 나눈다. put 은 커밋 후 반영된다.
+		Long cached = cache.get(countKey, Long.class);
+		if(cached != null) {
+			return cached;
+		}
+		long count = countQuery.getAsLong();
+		cache.put(countKey, count);
+		return count;
+	}
+
+	private long estimatedMemberCount() {
+		// H2 가 관리하는 행 수 추정치. 실제 count(*) 를 실행하지 않는다.
+		Object estimate = em.createNativeQuery(
+				"select row_count_estimate from information_schema.tables where table_name = 'MEMBER'")
+			.getSingleResult();
+		return ((Number) estimate).longValue();
+	}
 }
@@ -0,0 +1,21 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "member-snapshot", name = "enabled")
+public class MemberSnapshotConfig {
+
+	@Bean
+	public MemberColumnStore memberColumnStore(JdbcTemplate jdbcTemplate) {
+		return new MemberColumnStore(jdbcTemplate);
+	}
+
+	@Bean
+	public MemberSnapshotRefreshAspect memberSnapshotRefreshAspect(MemberColumnStore memberColumnStore) {
+		return new MemberSnapshotRefreshAspect(memberColumnStore);
+	}
+}
@@ -0,0 +1,54 @@
+package study.springdatajpastudy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+
+/**
+ * 엔티티 리스너를 거치지 않는 벌크 update/delete 가 커밋되면 MemberColumnStore 를 다시 읽는다.
+ */
+@Aspect
+@Order(RepositoryAspectOrder.AFTER_WRITE)
+@RequiredArgsConstructor
+public class MemberSnapshotRefreshAspect {
+
+	private final MemberColumnStore memberColumnStore;
+
+	@AfterReturning("this(study.springdatajpastudy.repository.MemberRepository)")
+	public void refreshOnRepositoryBulkWrite(JoinPoint joinPoint) {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		// deleteAllInBatch, deleteAllByIdInBatch
+		if(AnnotatedElementUtils.hasAnnotation(method, Modifying.class) || method.getName().endsWith("InBatch")) {
+			refreshAfterCommit();
+		}
+	}
+
+	@AfterReturning("execution(* study.springdatajpastudy.repository.MemberJpaRepository.bulk*(..))"
+		+ " || execution(* study.springdatajpastudy.repository.BulkUpdateEngine.execute(..))")
+	public void refreshOnBulkUpdate() {
+		refreshAfterCommit();
+	}
+
+	private void refreshAfterCommit() {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			memberColumnStore.refreshAsync();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				memberColumnStore.refreshAsync();
+			}
+		});
+	}
+}
@@ -1,28 +1,19 @@
 package study.springdatajpastudy.repository;
 
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
-import study.springdatajpastudy.entity.Member;
 
 public class MemberSpec {
 
-	public static Specification<Member> teamName(final String teamName) {
-		return (Specification<Member>) (root, query, builder) -> {
+	public static MemberSpecification teamName(final String teamName) {
 
-			if(StringUtils.isEmpty(teamName)) {
-				return null;
-			}
+		if(!StringUtils.hasLength(teamName)) {
+			return MemberSpecification.empty();
+		}
 
-			// 회원과 조인
-			Join<Object, Object> t = root.join("team", JoinType.INNER);
-			return builder.equal(t.get("name"), teamName);
-		};
+		return MemberSpecification.of(MemberSpecification.Kind.TEAM_NAME, teamName);
 	}
 
-	public static Specification<Member> username(final String username) {
-		return (root, query, builder) ->
-			builder.equal(root.get("username"), username);
+	public static MemberSpecification username(final String username) {
+		return MemberSpecification.of(MemberSpecification.Kind.USERNAME, username);
 	}
 }
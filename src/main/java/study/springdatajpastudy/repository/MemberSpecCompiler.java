@@ -0,0 +1,46 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MemberSpecification 의 정규화된 키별로 JPQL 을 한 번만 만든다.
+ * 같은 JPQL 문자열이면 Hibernate 쿼리 플랜 캐시에서 SQM 해석 결과를 재사용하므로
+ * 호출마다 Criteria 트리를 만들고 복사/해석하는 비용이 없어지고 바인딩 값만 달라진다.
+ */
+@Component
+public class MemberSpecCompiler {
+
+	private final Map<String, String> jpqlByKey = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	public String compile(MemberSpecification spec) {
+		String key = spec.canonicalKey();
+		String jpql = jpqlByKey.get(key);
+		if(jpql != null) {
+			hits.increment();
+			return jpql;
+		}
+
+		misses.increment();
+		return jpqlByKey.computeIfAbsent(key, k -> spec.toJpql());
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int getSize() {
+		return jpqlByKey.size();
+	}
+}
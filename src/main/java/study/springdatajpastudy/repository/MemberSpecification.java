@@ -0,0 +1,115 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+import study.springdatajpastudy.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MemberSpec 팩터리가 만드는 Specification. 람다와 달리 어떤 조건들로 이루어졌는지 알고 있어서
+ * 같은 모양의 조합을 하나의 파라미터화된 JPQL 로 컴파일할 수 있다(MemberRepository.findAllCompiled).
+ * 조건은 종류 순으로 정렬해 두므로 username.and(teamName) 과 teamName.and(username) 은 같은 쿼리가 된다.
+ */
+public final class MemberSpecification implements Specification<Member> {
+
+	// 선언 순서가 정규화 순서
+	enum Kind {
+		TEAM_NAME, USERNAME
+	}
+
+	record Condition(Kind kind, Object value) {
+	}
+
+	private final List<Condition> conditions;
+
+	private MemberSpecification(List<Condition> conditions) {
+		this.conditions = conditions.stream()
+			.sorted(Comparator.comparing(Condition::kind))
+			.toList();
+	}
+
+	static MemberSpecification of(Kind kind, Object value) {
+		return new MemberSpecification(List.of(new Condition(kind, value)));
+	}
+
+	static MemberSpecification empty() {
+		return new MemberSpecification(List.of());
+	}
+
+	public MemberSpecification and(MemberSpecification other) {
+		List<Condition> merged = new ArrayList<>(conditions);
+		merged.addAll(other.conditions);
+		return new MemberSpecification(merged);
+	}
+
+	@Override
+	public Specification<Member> and(Specification<Member> other) {
+		if(other instanceof MemberSpecification spec) {
+			return and(spec);
+		}
+		return Specification.super.and(other);
+	}
+
+	@Override
+	public Predicate toPredicate(Root<Member> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+		if(conditions.isEmpty()) {
+			return null;
+		}
+
+		Join<Object, Object> t = null;
+		List<Predicate> predicates = new ArrayList<>(conditions.size());
+		for(Condition condition : conditions) {
+			Path<Object> path;
+			if(condition.kind() == Kind.TEAM_NAME) {
+				// 회원과 조인
+				if(t == null) {
+					t = root.join("team", JoinType.INNER);
+				}
+				path = t.get("name");
+			} else {
+				path = root.get("username");
+			}
+			predicates.add(condition.value() == null ? builder.isNull(path) : builder.equal(path, condition.value()));
+		}
+		return builder.and(predicates.toArray(Predicate[]::new));
+	}
+
+	/**
+	 * 바인딩 값을 뺀 쿼리 모양. 같은 키면 같은 JPQL 을 쓴다.
+	 */
+	String canonicalKey() {
+		return conditions.stream()
+			.map(condition -> condition.value() == null ? condition.kind() + ":null" : condition.kind().name())
+			.collect(Collectors.joining(","));
+	}
+
+	String toJpql() {
+		StringBuilder jpql = new StringBuilder("select m from Member m");
+		if(conditions.stream().anyMatch(condition -> condition.kind() == Kind.TEAM_NAME)) {
+			jpql.append(" join m.team t");
+		}
+
+		for(int i = 0; i < conditions.size(); i++) {
+			Condition condition = conditions.get(i);
+			jpql.append(i == 0 ? " where " : " and ")
+				.append(condition.kind() == Kind.TEAM_NAME ? "t.name" : "m.username")
+				.append(condition.value() == null ? " is null" : " = :p" + i);
+		}
+		return jpql.toString();
+	}
+
+	<T> TypedQuery<T> bind(TypedQuery<T> query) {
+		for(int i = 0; i < conditions.size(); i++) {
+			Object value = conditions.get(i).value();
+			if(value != null) {
+				query.setParameter("p" + i, value);
+			}
+		}
+		return query;
+	}
+}
@@ -0,0 +1,21 @@
+package study.springdatajpastudy.repository;
+
+import java.lang.annotation.*;
+
+/**
+ * 같은 메서드의 @Query(nativeQuery = true) SQL 을 Hibernate 네이티브 쿼리 대신 JDBC PreparedStatement 로 실행하고
+ * ResultSet 을 레코드로 바로 매핑한다(NativeFastQueryAspect). 엔티티가 아닌 읽기 전용 조회에만 사용한다.
+ * 반환 타입은 레코드, List, Slice, Page 를 지원하고 메서드 파라미터는 Pageable 을 제외하고 순서대로 ? 에 바인딩한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NativeFastQuery {
+
+	/**
+	 * 매핑할 레코드 타입. 반환 요소 타입이 인터페이스 프로젝션일 때 구현 레코드를 지정한다.
+	 */
+	Class<? extends Record> resultType() default Record.class;
+
+	int fetchSize() default 500;
+}
@@ -0,0 +1,211 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @NativeFastQuery 가 붙은 리포지토리 메서드를 JDBC 로 직접 실행한다.
+ * 트랜잭션 안이면 JPA 트랜잭션의 커넥션을 함께 쓰고, Page 의 count 쿼리도 같은 커넥션에서 실행한다.
+ * Hibernate 네이티브 쿼리처럼 실행 전에 영속성 컨텍스트의 변경을 flush 해서 같은 트랜잭션의 쓰기가 보이게 한다.
+ * 메서드별 SQL(limit/count 포함)과 매핑 정보는 처음 호출할 때 한 번만 만든다.
+ * PreparedStatement 재사용은 드라이버의 문장 캐시(H2 QUERY_CACHE_SIZE 등)에 맡긴다.
+ */
+@Aspect
+@Order(RepositoryAspectOrder.NATIVE_FAST_QUERY)
+@Component
+@RequiredArgsConstructor
+public class NativeFastQueryAspect {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager em;
+
+	private final Map<Method, FastQuery> queries = new ConcurrentHashMap<>();
+
+	@Around("this(org.springframework.data.repository.Repository)")
+	public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		if(!method.isAnnotationPresent(NativeFastQuery.class)) {
+			return joinPoint.proceed();
+		}
+
+		FastQuery query = queries.computeIfAbsent(method, FastQuery::of);
+		Object[] args = joinPoint.getArgs();
+		flushPendingChanges();
+		return jdbcTemplate.execute((ConnectionCallback<Object>) con -> query.execute(con, args));
+	}
+
+	private void flushPendingChanges() {
+		if(!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return;
+		}
+
+		// 읽기 전용 트랜잭션(FlushMode.MANUAL)은 Hibernate 도 flush 하지 않는다.
+		Session session = em.unwrap(Session.class);
+		if(session.getHibernateFlushMode() != FlushMode.MANUAL && session.isDirty()) {
+			session.flush();
+		}
+	}
+
+	private enum ReturnKind {
+		SINGLE, LIST, SLICE, PAGE
+	}
+
+	private record FastQuery(String sql, String countSql, Class<? extends Record> resultType, ReturnKind returnKind,
+							 int pageableIndex, int fetchSize) {
+
+		static FastQuery of(Method method) {
+			Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+			Assert.state(query != null && query.nativeQuery(), "@NativeFastQuery requires @Query(nativeQuery = true): " + method);
+			NativeFastQuery fastQuery = method.getAnnotation(NativeFastQuery.class);
+
+			ReturnKind returnKind;
+			Class<?> elementType;
+			if(Page.class.isAssignableFrom(method.getReturnType())) {
+				returnKind = ReturnKind.PAGE;
+			} else if(Slice.class.isAssignableFrom(method.getReturnType())) {
+				returnKind = ReturnKind.SLICE;
+			} else if(List.class.isAssignableFrom(method.getReturnType())) {
+				returnKind = ReturnKind.LIST;
+			} else {
+				returnKind = ReturnKind.SINGLE;
+			}
+			elementType = returnKind == ReturnKind.SINGLE
+				? method.getReturnType()
+				: ResolvableType.forMethodReturnType(method).getGeneric(0).resolve();
+
+			Class<? extends Record> resultType = fastQuery.resultType() != Record.class
+				? fastQuery.resultType()
+				: asRecord(elementType, method);
+			Assert.state(elementType == null || elementType.isAssignableFrom(resultType),
+				resultType.getName() + " is not a " + elementType + ": " + method);
+
+			int pageableIndex = -1;
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			for(int i = 0; i < parameterTypes.length; i++) {
+				if(Pageable.class.isAssignableFrom(parameterTypes[i])) {
+					pageableIndex = i;
+				}
+			}
+			Assert.state(pageableIndex >= 0 || returnKind == ReturnKind.SINGLE || returnKind == ReturnKind.LIST,
+				"Page/Slice requires a Pageable parameter: " + method);
+
+			String countSql = StringUtils.hasText(query.countQuery())
+				? query.countQuery()
+				: "select count(*) from (" + query.value() + ") c";
+			return new FastQuery(query.value(), countSql, resultType, returnKind, pageableIndex, fastQuery.fetchSize());
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Class<? extends Record> asRecord(Class<?> type, Method method) {
+			Assert.state(type != null && type.isRecord(), "@NativeFastQuery result must be a record, set resultType: " + method);
+			return (Class<? extends Record>) type;
+		}
+
+		Object execute(Connection con, Object[] args) throws SQLException {
+			List<Object> params = new ArrayList<>(args.length + 2);
+			for(int i = 0; i < args.length; i++) {
+				if(i != pageableIndex) {
+					params.add(args[i]);
+				}
+			}
+			Pageable pageable = pageableIndex >= 0 ? (Pageable) args[pageableIndex] : Pageable.unpaged();
+
+			if(returnKind == ReturnKind.SINGLE) {
+				List<? extends Record> result = select(con, sql, params);
+				return result.isEmpty() ? null : result.get(0);
+			}
+			if(pageable.isUnpaged()) {
+				List<? extends Record> content = select(con, sql, params);
+				return switch(returnKind) {
+					case PAGE -> new PageImpl<>(content);
+					case SLICE -> new SliceImpl<>(content);
+					default -> content;
+				};
+			}
+
+			String pagedSql = QueryUtils.applySorting(sql, pageable.getSort()) + " limit ? offset ?";
+			List<Object> pagedParams = new ArrayList<>(params);
+			// Slice 는 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+			pagedParams.add(returnKind == ReturnKind.SLICE ? pageable.getPageSize() + 1 : pageable.getPageSize());
+			pagedParams.add(pageable.getOffset());
+			List<? extends Record> content = select(con, pagedSql, pagedParams);
+
+			return switch(returnKind) {
+				case SLICE -> {
+					boolean hasNext = content.size() > pageable.getPageSize();
+					yield new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+				}
+				case PAGE -> new PageImpl<>(content, pageable, total(con, params, pageable, content.size()));
+				default -> content;
+			};
+		}
+
+		// PageableExecutionUtils 와 같은 규칙으로 count 쿼리를 생략할 수 있으면 생략한다.
+		private long total(Connection con, List<Object> params, Pageable pageable, int contentSize) throws SQLException {
+			if(contentSize != 0 && contentSize < pageable.getPageSize()) {
+				return pageable.getOffset() + contentSize;
+			}
+
+			try(PreparedStatement ps = con.prepareStatement(countSql)) {
+				bind(ps, params);
+				try(ResultSet rs = ps.executeQuery()) {
+					rs.next();
+					return rs.getLong(1);
+				}
+			}
+		}
+
+		private List<? extends Record> select(Connection con, String sql, List<Object> params) throws SQLException {
+			try(PreparedStatement ps = con.prepareStatement(sql)) {
+				ps.setFetchSize(fetchSize);
+				bind(ps, params);
+				try(ResultSet rs = ps.executeQuery()) {
+					RecordRowMapper<? extends Record> mapper = new RecordRowMapper<>(resultType);
+					List<Record> result = new ArrayList<>();
+					int rowNum = 0;
+					while(rs.next()) {
+						result.add(mapper.mapRow(rs, rowNum++));
+					}
+					return result;
+				}
+			}
+		}
+
+		private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+			for(int i = 0; i < params.size(); i++) {
+				ps.setObject(i + 1, params.get(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package study.springdatajpastudy.repository;
+
+/**
+ * NestedClosedProjections 구현 레코드. 프록시 없이 행 하나당 레코드 두 개(회원, 팀)만 만든다.
+ * 팀은 별도 레코드라서 JSON 직렬화 시 getTeam() 이 자기 자신을 따라 순환하지 않는다.
+ */
+public record NestedClosedProjectionsRecord(String username, TeamInfoRecord team) implements NestedClosedProjections {
+
+	// JPQL 생성자 표현식용. left join 으로 팀이 없으면 null
+	public NestedClosedProjectionsRecord(String username, String teamName) {
+		this(username, teamName == null ? null : new TeamInfoRecord(teamName));
+	}
+
+	@Override
+	public String getUsername() {
+		return username;
+	}
+
+	@Override
+	public TeamInfo getTeam() {
+		return team;
+	}
+
+	public record TeamInfoRecord(String name) implements TeamInfo {
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package study.springdatajpastudy.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 잠금 없이 읽고 @Version 으로 충돌을 감지하는 낙관적 잠금 모드.
+ * 충돌하면 트랜잭션을 롤백하고 새 트랜잭션(새 영속성 컨텍스트)에서 다시 읽어 재시도한다.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+	private static final long BASE_BACKOFF_MILLIS = 5;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final LongAdder conflicts = new LongAdder();
+
+	public OptimisticRetryExecutor(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public <T> T execute(Supplier<T> work) {
+		return execute(DEFAULT_MAX_ATTEMPTS, work);
+	}
+
+	public <T> T execute(int maxAttempts, Supplier<T> work) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive");
+		// 바깥 트랜잭션 안에서는 재시도해도 같은 영속성 컨텍스트의 오래된 엔티티를 다시 보게 된다.
+		Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+			"OptimisticRetryExecutor must run outside of a transaction");
+
+		for(int attempt = 1; ; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> work.get());
+			} catch(OptimisticLockingFailureException e) {
+				conflicts.increment();
+				if(attempt >= maxAttempts) {
+					throw e;
+				}
+				log.debug("optimistic lock conflict, retry {}/{}", attempt, maxAttempts);
+				backoff(attempt);
+			}
+		}
+	}
+
+	public long getConflicts() {
+		return conflicts.sum();
+	}
+
+	// 같은 행을 두고 다시 부딪히지 않도록 지수 백오프에 지터를 섞는다.
+	private static void backoff(int attempt) {
+		long maxMillis = BASE_BACKOFF_MILLIS << Math.min(attempt, 6);
+		try {
+			TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while waiting to retry", e);
+		}
+	}
+}
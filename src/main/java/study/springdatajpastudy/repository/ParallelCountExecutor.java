@@ -0,0 +1,133 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * CountMode.PARALLEL 실행. count 를 먼저 applicationTaskExecutor 에 넘기고 본 쿼리를 실행한다.
+ * count 는 새 읽기 전용 트랜잭션이라 커넥션을 하나 더 쓴다. 공유 EntityManager 는 그 스레드의 트랜잭션에 묶인다.
+ * 호출한 쪽이 이미 트랜잭션(커넥션)을 쥐고 있으면 풀 크기만큼 동시에 호출될 때 모든 count 가 커넥션을 기다리며 멈추므로
+ * 이 경우에는 같은 스레드에서 순서대로 실행한다.
+ */
+@Component
+public class ParallelCountExecutor {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	private final AsyncTaskExecutor applicationTaskExecutor;
+
+	private final TransactionTemplate countTransaction;
+
+	private final LongAdder parallel = new LongAdder();
+
+	private final LongAdder sequential = new LongAdder();
+
+	private final LongAdder notNeeded = new LongAdder();
+
+	// spring.threads.virtual.enabled 면 applicationTaskExecutor 는 가상 스레드
+	public ParallelCountExecutor(AsyncTaskExecutor applicationTaskExecutor, PlatformTransactionManager transactionManager) {
+		this.applicationTaskExecutor = applicationTaskExecutor;
+		this.countTransaction = new TransactionTemplate(transactionManager);
+		this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.countTransaction.setReadOnly(true);
+	}
+
+	public <T> Page<T> page(Supplier<List<T>> contentQuery, Pageable pageable, LongSupplier countQuery) {
+		if(TransactionSynchronizationManager.isActualTransactionActive()) {
+			sequential.increment();
+			return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+		}
+
+		parallel.increment();
+		AtomicReference<Session> countSession = new AtomicReference<>();
+		Future<Long> count = applicationTaskExecutor.submit(() -> countTransaction.execute(status -> {
+			countSession.set(em.unwrap(Session.class));
+			return countQuery.getAsLong();
+		}));
+
+		AtomicBoolean countUsed = new AtomicBoolean();
+		try {
+			List<T> content = contentQuery.get();
+			return PageableExecutionUtils.getPage(content, pageable, () -> {
+				countUsed.set(true);
+				return awaitCount(count);
+			});
+		} finally {
+			if(!countUsed.get()) {
+				notNeeded.increment();
+				cancelCount(count, countSession.get());
+			}
+		}
+	}
+
+	public long getParallel() {
+		return parallel.sum();
+	}
+
+	public long getSequential() {
+		return sequential.sum();
+	}
+
+	// 본 쿼리 결과만으로 total 을 알 수 있어서(또는 본 쿼리 실패로) 취소한 count 수
+	public long getNotNeeded() {
+		return notNeeded.sum();
+	}
+
+	private static long awaitCount(Future<Long> count) {
+		try {
+			return count.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			count.cancel(false);
+			throw new IllegalStateException("count query interrupted", e);
+		} catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	// 아직 시작 전이면 실행하지 않고, 실행 중이면 JDBC Statement.cancel 로 DB 쪽 실행을 멈춘다.
+	// count 의 커넥션이 요청이 끝난 뒤까지 남지 않도록(AdmissionControlFilter 는 요청 단위로 입장을 센다) 트랜잭션이 끝날 때까지 기다린다.
+	private static void cancelCount(Future<Long> count, Session countSession) {
+		if(count.cancel(false) || count.isDone()) {
+			return;
+		}
+		if(countSession != null) {
+			try {
+				countSession.cancelQuery();
+			} catch(RuntimeException e) {
+				// 그 사이 count 가 끝났거나 트랜잭션이 닫혔다.
+			}
+		}
+		try {
+			count.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch(ExecutionException | CancellationException e) {
+			// 취소된 count 의 실패는 결과에 쓰지 않는다.
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포트가 열린 뒤(ApplicationReadyEvent) 백그라운드에서 리포지토리 @Query JPQL 과 NamedQuery 를 한 번씩 해석해
+ * Hibernate 쿼리 플랜 캐시를 채운다. 실행은 하지 않는다.
+ * fast-startup 프로필은 시작 시 NamedQuery 검증(hibernate.query.startup_check)을 끄고 이 작업으로 미룬다.
+ * 리포지토리 @Query 는 bootstrap-mode=deferred 여도 컨텍스트 refresh 가 끝나기 전에 검증되므로 여기서는 플랜 캐시만 다시 채운다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "query-warmup", name = "enabled")
+public class QueryPlanWarmer {
+
+	private static final List<Class<?>> REPOSITORIES = List.of(MemberRepository.class, TeamRepository.class);
+
+	private final EntityManagerFactory emf;
+
+	private final AsyncTaskExecutor applicationTaskExecutor;
+
+	public QueryPlanWarmer(EntityManagerFactory emf, AsyncTaskExecutor applicationTaskExecutor) {
+		this.emf = emf;
+		this.applicationTaskExecutor = applicationTaskExecutor;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUpInBackground() {
+		applicationTaskExecutor.execute(this::warmUp);
+	}
+
+	public QueryWarmUpResult warmUp() {
+		long start = System.nanoTime();
+		int prepared = 0;
+		int failed = 0;
+		EntityManager em = emf.createEntityManager();
+		try {
+			for(String jpql : repositoryQueries()) {
+				try {
+					em.createQuery(jpql);
+					prepared++;
+				} catch(RuntimeException e) {
+					failed++;
+					log.warn("query warm-up failed: {}", jpql, e);
+				}
+			}
+			for(String name : namedQueries()) {
+				try {
+					em.createNamedQuery(name);
+					prepared++;
+				} catch(RuntimeException e) {
+					failed++;
+					log.warn("named query warm-up failed: {}", name, e);
+				}
+			}
+		} finally {
+			em.close();
+		}
+
+		QueryWarmUpResult result = new QueryWarmUpResult(prepared, failed,
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		log.info("query plan warm-up prepared={}, failed={}, elapsed={}ms", result.prepared(), result.failed(),
+			result.elapsedMillis());
+		return result;
+	}
+
+	private static List<String> repositoryQueries() {
+		List<String> queries = new ArrayList<>();
+		for(Class<?> repository : REPOSITORIES) {
+			for(Method method : repository.getDeclaredMethods()) {
+				Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+				if(query != null && !query.nativeQuery() && !query.value().isEmpty()) {
+					queries.add(query.value());
+					if(!query.countQuery().isEmpty()) {
+						queries.add(query.countQuery());
+					}
+				}
+			}
+		}
+		return queries;
+	}
+
+	private List<String> namedQueries() {
+		List<String> names = new ArrayList<>();
+		for(EntityType<?> entity : emf.getMetamodel().getEntities()) {
+			for(NamedQuery namedQuery : AnnotatedElementUtils.findMergedRepeatableAnnotations(entity.getJavaType(),
+				NamedQuery.class, NamedQueries.class)) {
+				names.add(namedQuery.name());
+			}
+		}
+		return names;
+	}
+}
@@ -0,0 +1,4 @@
+package study.springdatajpastudy.repository;
+
+public record QueryWarmUpResult(int prepared, int failed, long elapsedMillis) {
+}
@@ -0,0 +1,18 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.util.Assert;
+
+/**
+ * 작업 큐를 함께 소비하는 워커 중 몇 번째인지. PARTITIONED 전략에서만 사용한다.
+ */
+public record QueueWorker(int index, int count) {
+
+	public QueueWorker {
+		Assert.isTrue(count > 0, "count must be positive");
+		Assert.isTrue(index >= 0 && index < count, "index must be in [0, count)");
+	}
+
+	public static QueueWorker single() {
+		return new QueueWorker(0, 1);
+	}
+}
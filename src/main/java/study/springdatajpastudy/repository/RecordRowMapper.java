@@ -0,0 +1,98 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * ResultSet 컬럼을 레코드 컴포넌트에 이름으로 대응시켜 정규 생성자를 바로 호출한다.
+ * 레코드별 생성자 MethodHandle 은 한 번만 만들고, 컬럼 위치는 첫 행에서 한 번만 계산하므로 행마다 리플렉션이나 맵이 없다.
+ * 컬럼 이름은 대소문자와 _ 를 무시하고 비교한다(team_name, TEAMNAME -> teamName).
+ * 컬럼 위치를 상태로 가지므로 쿼리 실행마다 새로 만든다.
+ */
+public final class RecordRowMapper<T extends Record> implements RowMapper<T> {
+
+	private static final ClassValue<Mapping> MAPPINGS = new ClassValue<>() {
+		@Override
+		protected Mapping computeValue(Class<?> type) {
+			return Mapping.of(type);
+		}
+	};
+
+	private final Class<T> type;
+
+	private final Mapping mapping;
+
+	private int[] columnIndexes;
+
+	public RecordRowMapper(Class<T> type) {
+		this.type = type;
+		this.mapping = MAPPINGS.get(type);
+	}
+
+	@Override
+	public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+		if(columnIndexes == null) {
+			columnIndexes = mapping.resolveColumnIndexes(rs.getMetaData());
+		}
+
+		Object[] args = new Object[columnIndexes.length];
+		for(int i = 0; i < args.length; i++) {
+			args[i] = rs.getObject(columnIndexes[i], mapping.componentTypes[i]);
+		}
+
+		try {
+			return type.cast(mapping.constructor.invoke(args));
+		} catch(Throwable e) {
+			throw new IllegalStateException("Failed to create " + type.getName(), e);
+		}
+	}
+
+	private record Mapping(Class<?> type, Class<?>[] componentTypes, String[] componentKeys, MethodHandle constructor) {
+
+		static Mapping of(Class<?> type) {
+			RecordComponent[] components = type.getRecordComponents();
+			Class<?>[] parameterTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+			Class<?>[] componentTypes = Arrays.stream(parameterTypes).map(ClassUtils::resolvePrimitiveIfNecessary).toArray(Class<?>[]::new);
+			String[] componentKeys = Arrays.stream(components).map(component -> key(component.getName())).toArray(String[]::new);
+
+			try {
+				MethodHandle constructor = MethodHandles.publicLookup()
+					.findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+					.asSpreader(Object[].class, parameterTypes.length);
+				return new Mapping(type, componentTypes, componentKeys, constructor);
+			} catch(ReflectiveOperationException e) {
+				throw new IllegalArgumentException("Record must be public: " + type.getName(), e);
+			}
+		}
+
+		int[] resolveColumnIndexes(ResultSetMetaData metaData) throws SQLException {
+			int[] indexes = new int[componentKeys.length];
+			for(int i = 0; i < componentKeys.length; i++) {
+				for(int column = 1; column <= metaData.getColumnCount(); column++) {
+					if(componentKeys[i].equals(key(metaData.getColumnLabel(column)))) {
+						indexes[i] = column;
+						break;
+					}
+				}
+				if(indexes[i] == 0) {
+					throw new IllegalStateException("No column for " + type.getSimpleName() + "." + componentKeys[i]);
+				}
+			}
+			return indexes;
+		}
+
+		private static String key(String name) {
+			return name.replace("_", "").toLowerCase(Locale.ROOT);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package study.springdatajpastudy.repository;
+
+import org.springframework.core.Ordered;
+
+/**
+ * 리포지토리 프록시에 걸리는 aspect 순서. 값이 작을수록 바깥에서 실행된다.
+ */
+public final class RepositoryAspectOrder {
+
+	// 가장 바깥. 캐시 적중이나 JDBC 로 바로 실행해 proceed 하지 않는 호출까지 모두 측정한다.
+	public static final int METRICS = Ordered.HIGHEST_PRECEDENCE;
+
+	// 요청 범위 findById 캐시. 적중하면 안쪽은 실행하지 않는다.
+	public static final int DOMAIN_LOOKUP_CACHE = METRICS + 10;
+
+	// @NativeFastQuery 메서드는 proceed 하지 않고 JDBC 로 실행한다.
+	public static final int NATIVE_FAST_QUERY = METRICS + 20;
+
+	// 쓰기 후 캐시 무효화, 스냅샷 갱신(@AfterReturning)
+	public static final int AFTER_WRITE = METRICS + 30;
+
+	private RepositoryAspectOrder() {
+	}
+}
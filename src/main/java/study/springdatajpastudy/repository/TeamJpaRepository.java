@@ -19,6 +19,11 @@ public class TeamJpaRepository {
 		return team;
 	}
 
+	// chunkSize 건마다 flush/clear 하며 저장한다. BatchInserter 참고
+	public BatchInsertResult saveAllBatched(Iterable<Team> teams, int chunkSize) {
+		return BatchInserter.persistAll(em, teams, chunkSize, "Team");
+	}
+
 	public void delete(Team team) {
 		em.remove(team);
 	}
@@ -1,7 +1,17 @@
 package study.springdatajpastudy.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.springdatajpastudy.entity.Member;
 import study.springdatajpastudy.entity.Team;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+
+	// Team.members 컬렉션을 로딩하지 않고 SQL 로 센다.
+	@Query("select count(m) from Member m where m.team = :team")
+	long countMembers(@Param("team") Team team);
+
+	@Query("select case when count(m) > 0 then true else false end from Member m where m.team = :team and m = :member")
+	boolean containsMember(@Param("team") Team team, @Param("member") Member member);
 }
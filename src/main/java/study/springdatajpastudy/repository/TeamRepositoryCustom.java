@@ -0,0 +1,11 @@
+package study.springdatajpastudy.repository;
+
+import study.springdatajpastudy.entity.Team;
+
+import java.util.Collection;
+
+public interface TeamRepositoryCustom {
+
+	// 아직 초기화되지 않은 teams 의 members 컬렉션을 IN 쿼리 한 번으로 초기화한다.
+	void loadMembers(Collection<Team> teams);
+}
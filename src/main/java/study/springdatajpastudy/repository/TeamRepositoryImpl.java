@@ -0,0 +1,32 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import study.springdatajpastudy.entity.Team;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+	private final EntityManager em;
+
+	@Override
+	public void loadMembers(Collection<Team> teams) {
+		List<Long> teamIds = teams.stream()
+			.filter(team -> !Hibernate.isInitialized(team.getMembers()))
+			.map(Team::getId)
+			.distinct()
+			.toList();
+		if(teamIds.isEmpty()) {
+			return;
+		}
+
+		// 같은 영속성 컨텍스트의 Team 인스턴스에 members 가 채워진다.
+		em.createQuery("select distinct t from Team t left join fetch t.members where t.id in :ids", Team.class)
+			.setParameter("ids", teamIds)
+			.getResultList();
+	}
+}
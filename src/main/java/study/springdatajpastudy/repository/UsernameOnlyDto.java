@@ -1,6 +1,6 @@
 package study.springdatajpastudy.repository;
 
-public class UsernameOnlyDto {
+public class UsernameOnlyDto implements UsernameOnly {
 
 	private final String username;
 
@@ -8,6 +8,7 @@ public class UsernameOnlyDto {
 		this.username = username;
 	}
 
+	@Override
 	public String getUsername() {
 		return username;
 	}
@@ -0,0 +1,41 @@
+package study.springdatajpastudy.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+	private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+
+	@Bean
+	@ConditionalOnProperty(prefix = "admission", name = "enabled")
+	public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties, DataSource dataSource) {
+		int maxConcurrentRequests = properties.getMaxConcurrentRequests() != null
+			? properties.getMaxConcurrentRequests()
+			: poolSize(dataSource);
+		log.info("admission control maxConcurrentRequests={}, maxWait={}", maxConcurrentRequests, properties.getMaxWait());
+		return new AdmissionControlFilter(maxConcurrentRequests, properties.getMaxWait());
+	}
+
+	private static int poolSize(DataSource dataSource) {
+		try {
+			// p6spy 가 감싸고 있으므로 unwrap 으로 Hikari 를 꺼낸다.
+			if(dataSource.isWrapperFor(HikariDataSource.class)) {
+				return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+			}
+		} catch(SQLException e) {
+			log.warn("커넥션 풀 크기를 확인할 수 없습니다.", e);
+		}
+		return DEFAULT_MAX_CONCURRENT_REQUESTS;
+	}
+}
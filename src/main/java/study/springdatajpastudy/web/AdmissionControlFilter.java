@@ -0,0 +1,108 @@
+package study.springdatajpastudy.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 동시에 처리하는 요청 수를 커넥션 풀 크기로 제한한다.
+ * 초과한 요청은 세마포어에서 대기하므로 Hikari 커넥션 대기열에 몰리지 않고,
+ * 가상 스레드에서는 대기 비용도 작다. maxWait 안에 입장하지 못하면 503 을 반환한다.
+ * StreamingResponseBody 처럼 비동기로 이어지는 요청은 핸들러가 반환한 뒤에도 커넥션을 쓰므로 비동기 처리가 끝날 때 반환한다.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	private final Semaphore permits;
+
+	private final long maxWaitNanos;
+
+	public AdmissionControlFilter(int maxConcurrentRequests, Duration maxWait) {
+		this.permits = new Semaphore(maxConcurrentRequests, true);
+		this.maxWaitNanos = maxWait.toNanos();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+
+		if(!acquired) {
+			log.warn("입장 대기 시간 초과 uri={}", request.getRequestURI());
+			response.setHeader("Retry-After", "1");
+			response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+			return;
+		}
+
+		Runnable release = releaseOnce();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if(request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ReleaseOnAsyncCompletion(release));
+			} else {
+				release.run();
+			}
+		}
+	}
+
+	// complete 와 error/timeout 이 함께 불려도 한 번만 반환한다.
+	private Runnable releaseOnce() {
+		AtomicBoolean released = new AtomicBoolean();
+		return () -> {
+			if(released.compareAndSet(false, true)) {
+				permits.release();
+			}
+		};
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	public int queueLength() {
+		return permits.getQueueLength();
+	}
+
+	private record ReleaseOnAsyncCompletion(Runnable release) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release.run();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release.run();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release.run();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// 다시 startAsync 하면 리스너를 새 AsyncContext 에 다시 등록해야 한다.
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
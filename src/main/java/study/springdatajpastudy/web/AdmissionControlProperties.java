@@ -0,0 +1,21 @@
+package study.springdatajpastudy.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionControlProperties {
+
+	private boolean enabled = false;
+
+	// 동시에 처리할 요청 수. 없으면 커넥션 풀 최대 크기
+	private Integer maxConcurrentRequests;
+
+	// 입장 대기 최대 시간. 넘으면 503
+	private Duration maxWait = Duration.ofSeconds(5);
+}
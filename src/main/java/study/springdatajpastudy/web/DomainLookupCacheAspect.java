@@ -0,0 +1,73 @@
+package study.springdatajpastudy.web;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.repository.Modifying;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+import study.springdatajpastudy.repository.RepositoryAspectOrder;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * 요청 안에서 MemberRepository/TeamRepository 의 findById 결과를 RequestEntityCache 에 보관하고 재사용한다.
+ * DomainClassConverter(@PathVariable("id") Member member)도 findById 를 호출하므로 같이 적용된다.
+ */
+@Aspect
+@Order(RepositoryAspectOrder.DOMAIN_LOOKUP_CACHE)
+@RequiredArgsConstructor
+public class DomainLookupCacheAspect {
+
+	private final RequestEntityCache cache;
+
+	@Around("this(study.springdatajpastudy.repository.MemberRepository) && execution(* findById(..)) && args(id)")
+	public Object findMember(ProceedingJoinPoint joinPoint, Object id) throws Throwable {
+		return find(Member.class, joinPoint, id);
+	}
+
+	@Around("this(study.springdatajpastudy.repository.TeamRepository) && execution(* findById(..)) && args(id)")
+	public Object findTeam(ProceedingJoinPoint joinPoint, Object id) throws Throwable {
+		return find(Team.class, joinPoint, id);
+	}
+
+	@AfterReturning("this(study.springdatajpastudy.repository.MemberRepository)")
+	public void evictOnMemberWrite(JoinPoint joinPoint) {
+		if(isWrite(joinPoint)) {
+			cache.evict(Member.class);
+		}
+	}
+
+	@AfterReturning("this(study.springdatajpastudy.repository.TeamRepository)")
+	public void evictOnTeamWrite(JoinPoint joinPoint) {
+		if(isWrite(joinPoint)) {
+			cache.evict(Team.class);
+		}
+	}
+
+	private Object find(Class<?> type, ProceedingJoinPoint joinPoint, Object id) throws Throwable {
+		Object cached = cache.get(type, id);
+		if(cached != null) {
+			return Optional.of(cached);
+		}
+
+		Object result = joinPoint.proceed();
+		((Optional<?>) result).ifPresent(entity -> cache.put(type, id, entity));
+		return result;
+	}
+
+	private static boolean isWrite(JoinPoint joinPoint) {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		String name = method.getName();
+		return name.startsWith("save")
+			|| name.startsWith("delete")
+			|| AnnotatedElementUtils.hasAnnotation(method, Modifying.class);
+	}
+}
@@ -0,0 +1,39 @@
+package study.springdatajpastudy.web;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(prefix = "domain-lookup", name = "enabled")
+public class DomainLookupCacheConfig implements WebMvcConfigurer {
+
+	private final ListableBeanFactory beanFactory;
+
+	public DomainLookupCacheConfig(ListableBeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	@Bean
+	public RequestEntityCache requestEntityCache() {
+		return new RequestEntityCache();
+	}
+
+	@Bean
+	public DomainLookupCacheAspect domainLookupCacheAspect() {
+		return new DomainLookupCacheAspect(requestEntityCache());
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// DomainLookupCacheAspect 가 캐시를 처리하는 타입만 미리 조회한다.
+		registry.addInterceptor(new DomainLookupPreloadInterceptor(requestEntityCache(), beanFactory, Set.of(Member.class, Team.class)));
+	}
+}
@@ -0,0 +1,141 @@
+package study.springdatajpastudy.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.*;
+
+/**
+ * 핸들러 인자 변환 전에 엔티티 타입 파라미터(@PathVariable/@RequestParam 의 Member, List<Member> 등)가 참조하는 id 를 모아
+ * 타입별 findAllById 한 번으로 미리 조회해 RequestEntityCache 에 넣는다.
+ * 이후 DomainClassConverter 의 findById 는 모두 캐시에서 끝난다. id 가 하나뿐이면 미리 조회하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DomainLookupPreloadInterceptor implements HandlerInterceptor {
+
+	private final RequestEntityCache cache;
+
+	private final ListableBeanFactory beanFactory;
+
+	private final Set<Class<?>> entityTypes;
+
+	private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+	private volatile Repositories repositories;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if(!(handler instanceof HandlerMethod handlerMethod)) {
+			return true;
+		}
+
+		MultiValueMap<Class<?>, String> rawIds = new LinkedMultiValueMap<>();
+		for(MethodParameter parameter : handlerMethod.getMethodParameters()) {
+			Class<?> entityType = entityType(parameter);
+			if(entityType != null) {
+				rawIds.addAll(entityType, rawValues(request, parameter));
+			}
+		}
+
+		rawIds.forEach(this::preload);
+		return true;
+	}
+
+	private Class<?> entityType(MethodParameter parameter) {
+		Class<?> type = parameter.getParameterType();
+		if(Collection.class.isAssignableFrom(type)) {
+			type = ResolvableType.forMethodParameter(parameter).asCollection().resolveGeneric(0);
+		} else if(type.isArray()) {
+			type = type.getComponentType();
+		}
+		return type != null && entityTypes.contains(type) ? type : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> rawValues(HttpServletRequest request, MethodParameter parameter) {
+		PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+		if(pathVariable != null) {
+			Map<String, String> variables =
+				(Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+			String value = variables == null ? null : variables.get(name(pathVariable.name(), parameter));
+			return value == null ? List.of() : List.of(value);
+		}
+
+		RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+		if(requestParam != null) {
+			String[] values = request.getParameterValues(name(requestParam.name(), parameter));
+			if(values == null) {
+				return List.of();
+			}
+			List<String> result = new ArrayList<>();
+			for(String value : values) {
+				Collections.addAll(result, StringUtils.commaDelimitedListToStringArray(value));
+			}
+			return result;
+		}
+		return List.of();
+	}
+
+	private static String name(String name, MethodParameter parameter) {
+		return StringUtils.hasText(name) ? name : parameter.getParameterName();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void preload(Class<?> type, List<String> values) {
+		Repositories repositories = repositories();
+		EntityInformation<Object, ?> entityInformation = repositories.getEntityInformationFor(type);
+
+		Set<Object> ids = new LinkedHashSet<>();
+		try {
+			for(String value : values) {
+				Object id = conversionService.convert(value.trim(), entityInformation.getIdType());
+				if(id != null && !cache.contains(type, id)) {
+					ids.add(id);
+				}
+			}
+		} catch(ConversionException e) {
+			// 잘못된 id 는 원래 변환 과정에서 오류가 나도록 둔다.
+			log.debug("skip preload of {} {}", type.getSimpleName(), values, e);
+			return;
+		}
+		if(ids.size() < 2) {
+			return;
+		}
+
+		CrudRepository<Object, Object> repository = (CrudRepository<Object, Object>) repositories.getRepositoryFor(type).orElseThrow();
+		int loaded = 0;
+		for(Object entity : repository.findAllById(ids)) {
+			cache.put(type, entityInformation.getId(entity), entity);
+			loaded++;
+		}
+		cache.recordPreload(loaded);
+	}
+
+	// 리포지토리 빈을 MVC 설정 시점에 만들지 않도록 처음 사용할 때 찾는다.
+	private Repositories repositories() {
+		if(repositories == null) {
+			repositories = new Repositories(beanFactory);
+		}
+		return repositories;
+	}
+}
@@ -0,0 +1,98 @@
+package study.springdatajpastudy.web;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 하나 동안 id 로 조회한 엔티티를 보관하는 identity 캐시. 저장소는 요청 속성이라 요청이 끝나면 사라진다.
+ * 요청 밖(배치, 테스트 등)에서는 아무것도 캐시하지 않는다.
+ */
+public class RequestEntityCache {
+
+	private static final String ATTRIBUTE = RequestEntityCache.class.getName();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder preloaded = new LongAdder();
+
+	private final LongAdder preloadQueries = new LongAdder();
+
+	public Object get(Class<?> type, Object id) {
+		if(RequestContextHolder.getRequestAttributes() == null) {
+			return null;
+		}
+
+		Map<Class<?>, Map<Object, Object>> entities = entities(false);
+		Object entity = entities == null ? null : entities.getOrDefault(type, Map.of()).get(id);
+		if(entity == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return entity;
+	}
+
+	public boolean contains(Class<?> type, Object id) {
+		Map<Class<?>, Map<Object, Object>> entities = entities(false);
+		return entities != null && entities.getOrDefault(type, Map.of()).containsKey(id);
+	}
+
+	public void put(Class<?> type, Object id, Object entity) {
+		Map<Class<?>, Map<Object, Object>> entities = entities(true);
+		if(entities != null) {
+			entities.computeIfAbsent(type, k -> new HashMap<>()).put(id, entity);
+		}
+	}
+
+	// 쓰기 후에는 같은 요청에서도 다시 조회하도록 해당 타입을 비운다.
+	public void evict(Class<?> type) {
+		Map<Class<?>, Map<Object, Object>> entities = entities(false);
+		if(entities != null) {
+			entities.remove(type);
+		}
+	}
+
+	void recordPreload(int entities) {
+		preloadQueries.increment();
+		preloaded.add(entities);
+	}
+
+	// 캐시에서 바로 돌려줘서 아낀 findById 호출 수
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getPreloaded() {
+		return preloaded.sum();
+	}
+
+	public long getPreloadQueries() {
+		return preloadQueries.sum();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<Class<?>, Map<Object, Object>> entities(boolean create) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if(attributes == null) {
+			return null;
+		}
+
+		Map<Class<?>, Map<Object, Object>> entities =
+			(Map<Class<?>, Map<Object, Object>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if(entities == null && create) {
+			entities = new HashMap<>();
+			attributes.setAttribute(ATTRIBUTE, entities, RequestAttributes.SCOPE_REQUEST);
+		}
+		return entities;
+	}
+}
@@ -0,0 +1,43 @@
+package study.springdatajpastudy.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@DisplayName("잘못되었거나 변조된 커서는 400 으로 응답한다.")
+	@Test
+	void listByCursorWithInvalidCursor() throws Exception {
+
+		// given
+		String notBase64 = "not-a-cursor!";
+		String notNumber = "YWJj";
+
+		// when, then
+		mockMvc.perform(get("/members/cursor").param("cursor", notBase64))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/members/cursor").param("cursor", notNumber))
+			.andExpect(status().isBadRequest());
+	}
+
+	@DisplayName("커서가 없으면 첫 페이지를 조회한다.")
+	@Test
+	void listByCursorWithoutCursor() throws Exception {
+
+		// when, then
+		mockMvc.perform(get("/members/cursor"))
+			.andExpect(status().isOk());
+	}
+}
\ No newline at end of file
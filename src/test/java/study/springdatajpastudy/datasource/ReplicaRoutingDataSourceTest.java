@@ -0,0 +1,119 @@
+package study.springdatajpastudy.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+	"datasource.routing.enabled=true",
+	"datasource.routing.sticky-window=200ms",
+	"datasource.routing.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+	"datasource.routing.replicas[0].username=sa"
+})
+class ReplicaRoutingDataSourceTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	// replica 는 복제되지 않으므로 primary 의 스키마만 옮겨서 primary 에 쓴 행이 replica 에는 없게 한다.
+	@BeforeEach
+	void copySchemaToReplica() throws Exception {
+		Path script = Files.createTempFile("schema", ".sql");
+		try {
+			jdbcTemplate.execute("script nodata to '" + script.toAbsolutePath() + "'");
+			try(Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+				Statement statement = replica.createStatement()) {
+				statement.execute("drop all objects");
+				statement.execute("runscript from '" + script.toAbsolutePath() + "'");
+			}
+		} finally {
+			Files.deleteIfExists(script);
+		}
+	}
+
+	@DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션은 primary 로 간다.")
+	@Test
+	void routeByReadOnly() {
+
+		// given
+		String client = "route-client";
+
+		// when
+		String readOnlyDatabase = as(client, () -> transaction(true).execute(status -> currentDatabase()));
+		String writeDatabase = as(client, () -> transaction(false).execute(status -> currentDatabase()));
+
+		// then
+		assertThat(readOnlyDatabase).containsIgnoringCase("replica");
+		assertThat(writeDatabase).containsIgnoringCase("primary");
+	}
+
+	@DisplayName("쓰기 커밋 직후 같은 클라이언트의 읽기만 sticky-window 동안 primary 로 간다.")
+	@Test
+	void readYourWrites() throws InterruptedException {
+
+		// given
+		Member member = as("writer", () -> memberRepository.save(new Member("routing", 10)));
+
+		// when
+		Optional<Member> sameClient = as("writer", () -> findOnReadOnly(member.getId()));
+		Optional<Member> otherClient = as("reader", () -> findOnReadOnly(member.getId()));
+		Optional<Member> noClient = findOnReadOnly(member.getId());
+		Thread.sleep(300);
+		Optional<Member> afterWindow = as("writer", () -> findOnReadOnly(member.getId()));
+
+		// then
+		assertThat(sameClient).isPresent();
+		assertThat(otherClient).isEmpty();
+		assertThat(noClient).isEmpty();
+		assertThat(afterWindow).isEmpty();
+	}
+
+	private Optional<Member> findOnReadOnly(Long id) {
+		return transaction(true).execute(status -> memberRepository.findById(id));
+	}
+
+	private static <T> T as(String client, Supplier<T> action) {
+		String previous = ReadYourWrites.bind(client);
+		try {
+			return action.get();
+		} finally {
+			ReadYourWrites.restore(previous);
+		}
+	}
+
+	private TransactionTemplate transaction(boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate;
+	}
+
+	private String currentDatabase() {
+		return jdbcTemplate.queryForObject("select database()", String.class);
+	}
+}
\ No newline at end of file
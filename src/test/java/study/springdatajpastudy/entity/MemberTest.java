@@ -2,6 +2,7 @@ package study.springdatajpastudy.entity;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.springdatajpastudy.repository.MemberRepository;
+import study.springdatajpastudy.repository.TeamRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,6 +25,9 @@ class MemberTest {
 	@Autowired
 	MemberRepository memberRepository;
 
+	@Autowired
+	TeamRepository teamRepository;
+
 	@DisplayName("멤버, 팀 연관관계 변경 확인.")
 	@Test
 	void changeTeam() {
@@ -65,6 +70,36 @@ class MemberTest {
 		assertThat(findTeamB.getMembers()).contains(findMember3, findMember4);
 	}
 
+	@DisplayName("팀 변경은 로딩되지 않은 members 컬렉션을 초기화하지 않고 team_id 만 바꾼다.")
+	@Test
+	void changeTeamWithoutLoadingMembers() {
+
+		// given
+		Team teamA = new Team("moveTeamA");
+		Team teamB = new Team("moveTeamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		Member member = new Member("moveMember", 10, teamA);
+		em.persist(member);
+		em.persist(new Member("stayMember", 20, teamB));
+		em.flush();
+		em.clear();
+
+		Member findMember = em.find(Member.class, member.getId());
+		Team findTeamB = em.find(Team.class, teamB.getId());
+
+		// when
+		findMember.changeTeam(findTeamB);
+		em.flush();
+
+		// then
+		assertThat(Hibernate.isInitialized(findMember.getTeam().getMembers())).isFalse();
+		assertThat(teamRepository.countMembers(findTeamB)).isEqualTo(2);
+		assertThat(teamRepository.containsMember(findTeamB, findMember)).isTrue();
+		assertThat(teamRepository.countMembers(em.getReference(Team.class, teamA.getId()))).isZero();
+		assertThat(Hibernate.isInitialized(findTeamB.getMembers())).isFalse();
+	}
+
 	@DisplayName("JPA Auditing")
 	@Test
 	void jpaEventBaseEntity() throws InterruptedException {
@@ -0,0 +1,41 @@
+package study.springdatajpastudy.monitor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class IndexAdvisorTest {
+
+	@Autowired
+	IndexAdvisor indexAdvisor;
+
+	@DisplayName("쿼리 메서드의 동등 조건, 범위 조건 컬럼 순서로 인덱스를 찾는다.")
+	@Test
+	void adviseIndexes() {
+
+		// given
+		indexAdvisor.advise();
+
+		// when
+		List<IndexAdvice> advice = indexAdvisor.getAdvice();
+
+		// then
+		assertThat(advice)
+			.filteredOn(index -> index.table().equals("member") && index.columns().equals(List.of("username", "age")))
+			.singleElement()
+			.satisfies(index -> {
+				assertThat(index.covered()).isTrue();
+				assertThat(index.sources()).contains("MemberRepository.findByUsernameAndAgeGreaterThan");
+			});
+		assertThat(advice)
+			.filteredOn(index -> index.table().equals("team") && index.columns().equals(List.of("name")))
+			.allMatch(IndexAdvice::covered);
+		assertThat(advice).allMatch(IndexAdvice::covered);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package study.springdatajpastudy.monitor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배치 페치가 켜져 있으면 지연 로딩이 IN 쿼리 하나로 묶여 N+1 모양이 나오지 않는다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=1")
+@Transactional
+class QueryCounterTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@DisplayName("지연 로딩으로 같은 모양의 SQL 이 반복되면 N+1 로 감지하고 호출 위치를 남긴다.")
+	@Test
+	void detectNPlusOne() {
+
+		// given
+		for(int i = 0; i < 5; i++) {
+			Team team = new Team("counterTeam" + i);
+			em.persist(team);
+			em.persist(new Member("counter", i, team));
+		}
+		em.flush();
+		em.clear();
+
+		// when
+		QueryCounter counter;
+		try(QueryCounter c = QueryCounter.start(5)) {
+			counter = c;
+			List<Member> members = memberRepository.findListByUsername("counter");
+			for(Member member : members) {
+				member.getTeam().getName();
+			}
+		}
+
+		// then
+		assertThat(counter.getTotal()).isEqualTo(6);
+		assertThat(counter.getNPlusOneSuspects()).hasSize(1);
+		// 프록시(Team$HibernateProxy$...)가 아니라 getName() 을 호출한 테스트 메서드를 가리킨다.
+		assertThat(counter.getNPlusOneSuspects().values())
+			.allMatch(callSite -> callSite.startsWith(QueryCounterTest.class.getName() + ".detectNPlusOne:"));
+	}
+
+	@DisplayName("fetch join 은 한 번의 SQL 로 끝난다.")
+	@Test
+	void fetchJoinSingleStatement() {
+
+		// given
+		Team team = new Team("counterTeam");
+		em.persist(team);
+		em.persist(new Member("counter", 10, team));
+		em.flush();
+		em.clear();
+
+		// when
+		QueryCounter counter;
+		try(QueryCounter c = QueryCounter.start()) {
+			counter = c;
+			memberRepository.findMemberFetchJoin().forEach(member -> member.getTeam().getName());
+		}
+
+		// then
+		assertThat(counter.getTotal()).isEqualTo(1);
+		assertThat(counter.getNPlusOneSuspects()).isEmpty();
+	}
+}
\ No newline at end of file
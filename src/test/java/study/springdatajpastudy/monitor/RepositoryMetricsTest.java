@@ -0,0 +1,70 @@
+package study.springdatajpastudy.monitor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RepositoryMetricsTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	RepositoryMetrics repositoryMetrics;
+
+	@DisplayName("리포지토리 메서드별 호출 수, 반환 행 수, 실행 문장 수를 기록한다.")
+	@Test
+	void recordRepositoryMethod() {
+
+		// given
+		memberRepository.saveAll(List.of(new Member("metrics", 94), new Member("metrics", 94)));
+		Map<String, Object> before = repositoryMetrics.snapshot().get("MemberRepository.findByUsername(String)");
+		long calls = before == null ? 0 : (long) before.get("count");
+		long rows = before == null ? 0 : (long) before.get("rows");
+
+		// when
+		memberRepository.findByUsername("metrics");
+
+		// then
+		Map<String, Object> after = repositoryMetrics.snapshot().get("MemberRepository.findByUsername(String)");
+		assertThat((long) after.get("count")).isEqualTo(calls + 1);
+		assertThat((long) after.get("rows")).isEqualTo(rows + 2);
+		assertThat((long) after.get("statements")).isGreaterThanOrEqualTo(1);
+		assertThat((long) after.get("p99Micros")).isGreaterThan(0);
+	}
+
+	@DisplayName("proceed 하지 않는 @NativeFastQuery 메서드도 /metrics/repositories 에 기록한다.")
+	@Test
+	void recordNativeFastQuery() throws Exception {
+
+		// given
+		memberRepository.save(new Member("metricsNative", 94));
+
+		// when
+		memberRepository.findByNativeProjection(PageRequest.of(0, 1));
+
+		// then
+		mockMvc.perform(get("/metrics/repositories"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$['MemberRepository.findByNativeProjection(Pageable)'].count").isNumber());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package study.springdatajpastudy.monitor;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {"slow-query.threshold=0ms", "slow-query.max-per-minute=100000"})
+class SlowQueryListenerTest {
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	Logger slowQueryLogger = (Logger) LoggerFactory.getLogger("slow-query");
+
+	ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void setUp() {
+		appender.start();
+		slowQueryLogger.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		slowQueryLogger.detachAppender(appender);
+	}
+
+	@DisplayName("threshold 를 넘은 select 는 리포지토리 메서드, 가려진 바인딩 값, EXPLAIN 결과와 함께 JSON 으로 남긴다.")
+	@Test
+	void logSlowQuery() {
+
+		// given
+		memberRepository.save(new Member("slowQuery", 95));
+
+		// when
+		memberRepository.findByUsername("slowQuery");
+
+		// then
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			List<String> messages = appender.list.stream()
+				.map(ILoggingEvent::getFormattedMessage)
+				.filter(message -> message.contains("MemberRepository.findByUsername(String)"))
+				.toList();
+			assertThat(messages).isNotEmpty();
+			assertThat(messages.get(0))
+				.contains("\"explain\"")
+				.contains("'***'")
+				.doesNotContain("'slowQuery'");
+		});
+	}
+
+	@DisplayName("잠금을 거는 select 는 EXPLAIN ANALYZE 로 다시 실행하지 않고 실행 계획만 남긴다.")
+	@Test
+	void explainLockingReadWithoutAnalyze() {
+
+		// given
+		memberRepository.save(new Member("slowQueryLock", 95));
+
+		// when
+		memberRepository.findLockByUsername("slowQueryLock");
+
+		// then
+		// H2 의 EXPLAIN ANALYZE 는 실제 실행한 행 수를 scanCount 로 남긴다.
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			List<String> messages = appender.list.stream()
+				.map(ILoggingEvent::getFormattedMessage)
+				.filter(message -> message.contains("MemberRepository.findLockByUsername(String)"))
+				.toList();
+			assertThat(messages).isNotEmpty();
+			assertThat(messages.get(0))
+				.contains("\"explain\"")
+				.doesNotContain("scanCount")
+				.doesNotContain("explain failed");
+		});
+	}
+}
\ No newline at end of file
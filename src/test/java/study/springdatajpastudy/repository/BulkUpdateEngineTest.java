@@ -0,0 +1,101 @@
+package study.springdatajpastudy.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.BulkJobCheckpoint;
+import study.springdatajpastudy.entity.Member;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class BulkUpdateEngineTest {
+
+	@Autowired
+	BulkUpdateEngine bulkUpdateEngine;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	BulkJobCheckpointRepository checkpointRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	// 다른 테스트가 커밋한 회원과 겹치지 않도록 이름으로 대상을 한정한다.
+	private static BulkUpdateJob agePlus(String name, String usernamePrefix, int chunkSize) {
+		return new BulkUpdateJob(name, "update versioned Member m set m.age = m.age + 1 where m.username like :username",
+			Map.of("username", usernamePrefix + "%"), chunkSize, 0);
+	}
+
+	@DisplayName("청크 단위로 나이를 증가시키고 체크포인트를 완료 처리한다.")
+	@Test
+	void bulkAgePlusChunked() {
+
+		// given
+		List<Member> members = memberRepository.saveAll(IntStream.rangeClosed(1, 10)
+			.mapToObj(i -> new Member("bulk" + i, 81))
+			.toList());
+
+		// when
+		BulkUpdateResult result = bulkUpdateEngine.execute(agePlus("bulkAgePlusChunked", "bulk", 3));
+
+		// then
+		assertThat(result.processedRows()).isEqualTo(10);
+		assertThat(result.chunks()).isGreaterThan(1);
+		assertThat(memberRepository.findAllById(members.stream().map(Member::getId).toList()))
+			.extracting(Member::getAge)
+			.containsOnly(82);
+		assertThat(checkpointRepository.findById("bulkAgePlusChunked"))
+			.get()
+			.extracting(BulkJobCheckpoint::isCompleted)
+			.isEqualTo(true);
+	}
+
+	@DisplayName("체크포인트가 남아 있으면 마지막 처리 위치 다음부터 이어서 실행한다.")
+	@Test
+	void bulkAgePlusResume() {
+
+		// given
+		List<Member> members = memberRepository.saveAll(IntStream.rangeClosed(1, 4)
+			.mapToObj(i -> new Member("resume" + i, 83))
+			.toList());
+		checkpointRepository.save(new BulkJobCheckpoint("bulkAgePlusResume", members.get(1).getId()));
+
+		// when
+		BulkUpdateResult result = bulkUpdateEngine.execute(agePlus("bulkAgePlusResume", "resume", 100));
+
+		// then
+		assertThat(result.processedRows()).isEqualTo(2);
+		assertThat(memberRepository.findAllById(members.stream().map(Member::getId).toList()))
+			.extracting(Member::getUsername, Member::getAge)
+			.containsExactlyInAnyOrder(
+				tuple("resume1", 83),
+				tuple("resume2", 83),
+				tuple("resume3", 84),
+				tuple("resume4", 84));
+	}
+
+	@DisplayName("바깥 트랜잭션 안에서는 실행할 수 없다.")
+	@Test
+	void bulkAgePlusInsideTransaction() {
+
+		// given
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		// when, then
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+			bulkUpdateEngine.execute(BulkUpdateJob.bulkAgePlus("bulkAgePlusInsideTransaction", 85, 100, 0))))
+			.isInstanceOf(IllegalStateException.class);
+	}
+}
\ No newline at end of file
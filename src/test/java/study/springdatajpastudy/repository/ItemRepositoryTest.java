@@ -6,6 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.springdatajpastudy.entity.Item;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class ItemRepositoryTest {
 
@@ -18,4 +22,19 @@ class ItemRepositoryTest {
 		Item item = new Item("A");
 		itemRepository.save(item);
 	}
+
+	@DisplayName("없는 id 만 insert 하고 createdDate 를 채운다.")
+	@Test
+	void upsertAll() {
+
+		// given
+		itemRepository.upsertAll(List.of("U1", "U2"), 1_000);
+
+		// when
+		int inserted = itemRepository.upsertAll(List.of("U1", "U2", "U3", "U3"), 1_000);
+
+		// then
+		assertThat(inserted).isEqualTo(1);
+		assertThat(itemRepository.findById("U3").get().isNew()).isFalse();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package study.springdatajpastudy.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MemberClaimTest {
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	OptimisticRetryExecutor optimisticRetryExecutor;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@DisplayName("두 워커가 동시에 claim 하면 서로 다른 회원을 가져간다.")
+	@Test
+	void claimByAgeConcurrently() throws Exception {
+
+		// given
+		memberRepository.saveAll(IntStream.rangeClosed(1, 6)
+			.mapToObj(i -> new Member("claim" + i, 91))
+			.toList());
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch firstClaimed = new CountDownLatch(1);
+		CountDownLatch secondClaimed = new CountDownLatch(1);
+
+		// when
+		CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+			List<Long> ids = memberRepository.claimByAge(91, 2, new QueueWorker(0, 2)).stream().map(Member::getId).toList();
+			firstClaimed.countDown();
+			await(secondClaimed);
+			return ids;
+		}));
+		await(firstClaimed);
+		List<Long> second = transactionTemplate.execute(status ->
+			memberRepository.claimByAge(91, 2, new QueueWorker(1, 2)).stream().map(Member::getId).toList());
+		secondClaimed.countDown();
+
+		// then
+		assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(2);
+		assertThat(second).hasSize(2);
+		assertThat(first.get()).doesNotContainAnyElementsOf(second);
+	}
+
+	@DisplayName("낙관적 잠금 충돌이 나면 새 트랜잭션에서 다시 읽어 재시도한다.")
+	@Test
+	void optimisticRetry() {
+
+		// given
+		Member member = memberRepository.save(new Member("optimistic", 92));
+		TransactionTemplate concurrentUpdate = new TransactionTemplate(transactionManager);
+		concurrentUpdate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		AtomicInteger attempts = new AtomicInteger();
+
+		// when
+		optimisticRetryExecutor.execute(() -> {
+			Member found = memberRepository.findById(member.getId()).orElseThrow();
+			if(attempts.incrementAndGet() == 1) {
+				// 첫 시도 중에 다른 트랜잭션이 먼저 수정한다.
+				concurrentUpdate.executeWithoutResult(status ->
+					memberRepository.findById(member.getId()).orElseThrow().setAge(found.getAge() + 1));
+			}
+			found.setAge(found.getAge() + 1);
+			return found;
+		});
+
+		// then
+		assertThat(attempts.get()).isEqualTo(2);
+		assertThat(memberRepository.findById(member.getId()).orElseThrow().getAge()).isEqualTo(94);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
\ No newline at end of file
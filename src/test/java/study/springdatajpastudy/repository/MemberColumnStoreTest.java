@@ -0,0 +1,110 @@
+package study.springdatajpastudy.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.entity.Team;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "member-snapshot.enabled=true")
+class MemberColumnStoreTest {
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	TeamRepository teamRepository;
+
+	@Autowired
+	MemberColumnStore memberColumnStore;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	DataSource dataSource;
+
+	@DisplayName("커밋된 회원 변경은 바로, 벌크 update 는 다시 읽어서 스냅샷에 반영된다.")
+	@Test
+	void snapshot() {
+
+		// given
+		Team team = teamRepository.save(new Team("snapshotTeam"));
+		Member member1 = memberRepository.save(new Member("snapshot", 95, team));
+		Member member2 = memberRepository.save(new Member("snapshot", 97, team));
+		memberRepository.save(new Member("snapshot", 97));
+
+		// when
+		assertThat(memberColumnStore.count(team.getId(), 95, 97)).isEqualTo(2);
+		assertThat(memberColumnStore.countByAge(team.getId())).containsEntry(95, 1L).containsEntry(97, 1L);
+
+		memberRepository.delete(member1);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> memberRepository.bulkAgePlus(97));
+
+		// then
+		assertThat(memberColumnStore.count(team.getId(), 0, Integer.MAX_VALUE)).isEqualTo(1);
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			assertThat(memberColumnStore.countByAge(team.getId())).containsOnlyKeys(98);
+			assertThat(memberColumnStore.countByTeam(98)).containsEntry(team.getId(), 1L);
+		});
+		assertThat(memberRepository.findAllById(List.of(member2.getId())))
+			.extracting(Member::getAge)
+			.containsExactly(98);
+	}
+
+	@DisplayName("refresh 가 테이블을 읽는 동안에도 조회는 막히지 않고, 그 사이 들어온 변경은 새 스냅샷에 남는다.")
+	@Test
+	void refreshWithoutBlockingReaders() throws Exception {
+
+		// given
+		memberRepository.save(new Member("snapshotRefresh", 96));
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		MemberColumnStore store = new MemberColumnStore(new JdbcTemplate(dataSource) {
+			@Override
+			public void query(String sql, RowCallbackHandler rch) {
+				loading.countDown();
+				try {
+					release.await();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.query(sql, rch);
+			}
+		});
+
+		try {
+			// when
+			Future<?> refresh = store.refreshAsync();
+			assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+			long countWhileLoading = CompletableFuture.supplyAsync(() -> store.count(null, 0, Integer.MAX_VALUE))
+				.get(1, TimeUnit.SECONDS);
+			store.upsert(Long.MAX_VALUE, 150, MemberColumnStore.NO_TEAM);
+			release.countDown();
+			refresh.get(5, TimeUnit.SECONDS);
+
+			// then
+			assertThat(countWhileLoading).isEqualTo(0);
+			assertThat(store.count(null, 150, 150)).isEqualTo(1);
+			assertThat(store.count(null, 96, 96)).isPositive();
+		} finally {
+			store.destroy();
+		}
+	}
+}
\ No newline at end of file
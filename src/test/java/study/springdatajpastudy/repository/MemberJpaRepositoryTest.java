@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import study.springdatajpastudy.entity.Member;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -137,6 +138,30 @@ class MemberJpaRepositoryTest {
 		assertThat(totalCount).isEqualTo(5);
 	}
 
+	@DisplayName("(username, id) 키셋 페이징")
+	@Test
+	void pagingByKeyset() {
+
+		// given
+		memberJpaRepository.save(new Member("keyset1", 33));
+		memberJpaRepository.save(new Member("keyset2", 33));
+		memberJpaRepository.save(new Member("keyset3", 33));
+		memberJpaRepository.save(new Member("keyset4", 33));
+		memberJpaRepository.save(new Member("keyset5", 33));
+
+		int age = 33;
+		int limit = 3;
+
+		// when
+		List<Member> firstPage = memberJpaRepository.findByPageAfter(age, null, null, limit);
+		Member last = firstPage.get(firstPage.size() - 1);
+		List<Member> secondPage = memberJpaRepository.findByPageAfter(age, last.getUsername(), last.getId(), limit);
+
+		// then
+		assertThat(firstPage).extracting("username").containsExactly("keyset5", "keyset4", "keyset3");
+		assertThat(secondPage).extracting("username").containsExactly("keyset2", "keyset1");
+	}
+
 	@DisplayName("파라미터로 주어진 나이 이상인 모든 멤버의 나이를 +1 한다.")
 	@Test
 	void bulkAgePlus() {
@@ -154,4 +179,24 @@ class MemberJpaRepositoryTest {
 	    // then
 		assertThat(resultCount).isEqualTo(3);
 	}
+
+	@DisplayName("chunk 단위 flush/clear 배치 저장")
+	@Test
+	@Rollback
+	void saveAllBatched() {
+
+		// given
+		long before = memberJpaRepository.count();
+		Iterable<Member> members = () -> IntStream.range(0, 10_000)
+			.mapToObj(i -> new Member("batch" + i, i % 100))
+			.iterator();
+
+		// when
+		BatchInsertResult result = memberJpaRepository.saveAllBatched(members, 500);
+
+		// then
+		System.out.println("rows/sec = " + result.rowsPerSecond());
+		assertThat(result.rows()).isEqualTo(10_000);
+		assertThat(memberJpaRepository.count()).isEqualTo(before + 10_000);
+	}
 }
\ No newline at end of file
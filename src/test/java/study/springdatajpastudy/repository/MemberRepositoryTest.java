@@ -1,5 +1,7 @@
 package study.springdatajpastudy.repository;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.DisplayName;
@@ -9,14 +11,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import study.springdatajpastudy.dto.MemberDto;
 import study.springdatajpastudy.entity.Member;
 import study.springdatajpastudy.entity.Team;
+import study.springdatajpastudy.monitor.QueryCounter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,6 +40,15 @@ class MemberRepositoryTest {
 	@Autowired
 	TeamRepository teamRepository;
 
+	@Autowired
+	MemberSpecCompiler memberSpecCompiler;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	ParallelCountExecutor parallelCountExecutor;
+
 	@PersistenceContext
 	EntityManager em;
 
@@ -185,6 +203,64 @@ class MemberRepositoryTest {
 		assertThat(memberDto.get(0).getTeamName()).isEqualTo(team.getName());
 	}
 
+	@DisplayName("조회 결과 캐시는 회원 저장 시 무효화")
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void findUsernameListCache() {
+
+		// given
+		// 캐시 put 은 커밋 후 반영되므로 각 단계를 커밋되는 트랜잭션에서 실행한다.
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		committed.executeWithoutResult(status -> memberRepository.save(new Member("cache1", 10)));
+		List<String> before = committed.execute(status -> memberRepository.findUsernameList());
+		List<String> cached = committed.execute(status -> memberRepository.findUsernameList());
+
+		// when
+		committed.executeWithoutResult(status -> memberRepository.save(new Member("cache2", 10)));
+		List<String> after = committed.execute(status -> memberRepository.findUsernameList());
+
+		// then
+		assertThat(cached).isSameAs(before);
+		assertThat(after).isNotSameAs(before);
+		assertThat(committed.execute(status -> memberRepository.findUsernameList())).isSameAs(after);
+		assertThat(before).contains("cache1").doesNotContain("cache2");
+		assertThat(after).contains("cache1", "cache2");
+	}
+
+	@DisplayName("조회 결과 캐시는 팀 저장, 벌크 수정 시 무효화")
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void findMemberDtoCache() {
+
+		// given
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		Team team = committed.execute(status -> {
+			Team saved = teamRepository.save(new Team("cacheTeam"));
+			Member member = new Member("cacheMember", 10);
+			member.setTeam(saved);
+			memberRepository.save(member);
+			return saved;
+		});
+		List<MemberDto> before = committed.execute(status -> memberRepository.findMemberDto());
+		List<MemberDto> cached = committed.execute(status -> memberRepository.findMemberDto());
+
+		// when
+		team.setName("renamedTeam");
+		committed.executeWithoutResult(status -> teamRepository.save(team));
+		List<MemberDto> afterTeamSave = committed.execute(status -> memberRepository.findMemberDto());
+		List<MemberDto> cachedAfterTeamSave = committed.execute(status -> memberRepository.findMemberDto());
+		committed.executeWithoutResult(status -> memberRepository.bulkAgePlus(100));
+		List<MemberDto> afterBulk = committed.execute(status -> memberRepository.findMemberDto());
+
+		// then
+		assertThat(cached).isSameAs(before);
+		assertThat(before).extracting("teamName").contains("cacheTeam");
+		assertThat(afterTeamSave).isNotSameAs(before);
+		assertThat(afterTeamSave).extracting("teamName").contains("renamedTeam");
+		assertThat(cachedAfterTeamSave).isSameAs(afterTeamSave);
+		assertThat(afterBulk).isNotSameAs(afterTeamSave);
+	}
+
 	@DisplayName("멤버 이름으로 IN절로 검색하여 목록 조회")
 	@Test
 	void findByNames() {
@@ -302,6 +378,229 @@ class MemberRepositoryTest {
 		assertThat(page.hasNext()).isTrue();
 	}
 
+	@DisplayName("member_id 키셋 페이징")
+	@Test
+	void findMemberWindow() {
+
+		// given
+		Member m1 = memberRepository.save(new Member("member1", 10));
+		Member m2 = memberRepository.save(new Member("member2", 10));
+		Member m3 = memberRepository.save(new Member("member3", 10));
+		Member m4 = memberRepository.save(new Member("member4", 10));
+
+		// when
+		Window<Member> window = memberRepository.findMemberWindow(ScrollPosition.forward(Map.of("id", m1.getId())), 2);
+		KeysetScrollPosition next = MemberCursor.decode(MemberCursor.encode(window.positionAt(window.size() - 1)));
+		Window<Member> nextWindow = memberRepository.findMemberWindow(next, 2);
+
+		// then
+		assertThat(window.getContent()).containsExactly(m2, m3);
+		assertThat(window.hasNext()).isTrue();
+		assertThat(nextWindow.getContent()).containsExactly(m4);
+		assertThat(nextWindow.hasNext()).isFalse();
+	}
+
+	@DisplayName("깊은 페이지에서 offset 페이징과 키셋 페이징은 같은 내용을 조회한다.")
+	@Test
+	@Rollback
+	void offsetVsKeyset() {
+
+		// given
+		// 지연시간 비교는 KeysetPagingBenchmark
+		for(int i = 0; i < 200; i++) {
+			em.persist(new Member("seed" + i, i % 100));
+		}
+		em.flush();
+		em.clear();
+
+		int size = 20;
+		int deepPage = (int) (memberRepository.count() / size) - 1;
+		Long lastIdBeforeDeepPage = memberRepository.findAll(PageRequest.of(deepPage - 1, size, Sort.by("id")))
+			.getContent().get(size - 1).getId();
+
+		// when
+		List<Member> offsetContent = memberRepository.findAll(PageRequest.of(deepPage, size, Sort.by("id"))).getContent();
+		Window<Member> window = memberRepository.findMemberWindow(ScrollPosition.forward(Map.of("id", lastIdBeforeDeepPage)), size);
+
+		// then
+		assertThat(window.getContent()).extracting("id")
+			.containsExactlyElementsOf(offsetContent.stream().map(Member::getId).toList());
+	}
+
+	@DisplayName("첫 페이지가 size 보다 작으면 count 쿼리 없이 total 계산")
+	@Test
+	void findPageByAgeSkipWhenShort() {
+
+		// given
+		memberRepository.save(new Member("member1", 71));
+		memberRepository.save(new Member("member2", 71));
+
+		PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+		// when
+		Page<Member> page = memberRepository.findPageByAge(71, pageRequest, CountMode.SKIP_WHEN_SHORT);
+
+		// then
+		assertThat(page.getContent()).extracting("username").containsExactly("member2", "member1");
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@DisplayName("조건절이 있는 조회는 ESTIMATED 여도 테이블 전체 추정치 대신 실제 count 를 쓴다.")
+	@Test
+	void findPageByAgeIgnoresEstimate() {
+
+		// given
+		memberRepository.save(new Member("member1", 57));
+		memberRepository.save(new Member("member2", 57));
+		memberRepository.save(new Member("other", 56));
+		PageRequest pageRequest = PageRequest.of(0, 1);
+
+		// when
+		Page<Member> page = memberRepository.findPageByAge(57, pageRequest, CountMode.ESTIMATED);
+
+		// then
+		assertThat(page.getTotalElements())
+			.isEqualTo(memberRepository.findPageByAge(57, pageRequest, CountMode.EXACT).getTotalElements())
+			.isLessThan(memberRepository.count());
+	}
+
+	@DisplayName("캐시된 total 은 MemberRepository 쓰기 시 무효화")
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void findPageByAgeCachedCount() {
+
+		// given
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		committed.executeWithoutResult(status -> memberRepository.saveAll(List.of(
+			new Member("member1", 72), new Member("member2", 72), new Member("member3", 72))));
+		PageRequest pageRequest = PageRequest.of(0, 2);
+		long before = committed.execute(status ->
+			memberRepository.findPageByAge(72, pageRequest, CountMode.CACHED).getTotalElements());
+		int queriesWhenCached = queryCount(() -> committed.executeWithoutResult(status ->
+			memberRepository.findPageByAge(72, pageRequest, CountMode.CACHED)));
+
+		// when
+		committed.executeWithoutResult(status -> memberRepository.save(new Member("member4", 72)));
+		long after = committed.execute(status ->
+			memberRepository.findPageByAge(72, pageRequest, CountMode.CACHED).getTotalElements());
+
+		// then
+		// 캐시가 있으면 count 없이 본 쿼리만 실행한다. 무효화되지 않았다면 after 도 캐시된 3 이다.
+		assertThat(before).isEqualTo(3);
+		assertThat(queriesWhenCached).isEqualTo(1);
+		assertThat(after).isEqualTo(4);
+	}
+
+	@DisplayName("bulkAgePlus 후 캐시된 total 무효화")
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void bulkAgePlusEvictsCachedCount() {
+
+		// given
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		committed.executeWithoutResult(status -> memberRepository.saveAll(List.of(
+			new Member("member1", 73), new Member("member2", 73), new Member("member3", 73))));
+		PageRequest pageRequest = PageRequest.of(0, 2);
+		long before = committed.execute(status ->
+			memberRepository.findPageByAge(73, pageRequest, CountMode.CACHED).getTotalElements());
+		int queriesWhenCached = queryCount(() -> committed.executeWithoutResult(status ->
+			memberRepository.findPageByAge(73, pageRequest, CountMode.CACHED)));
+
+		// when
+		committed.executeWithoutResult(status -> memberRepository.bulkAgePlus(73));
+		long after = committed.execute(status ->
+			memberRepository.findPageByAge(73, pageRequest, CountMode.CACHED).getTotalElements());
+
+		// then
+		// 무효화되지 않았다면 캐시된 3 이 남는다.
+		assertThat(before).isEqualTo(3);
+		assertThat(queriesWhenCached).isEqualTo(1);
+		assertThat(after).isEqualTo(0);
+	}
+
+	@DisplayName("쓰기가 있었던 트랜잭션에서 계산된 total 은 캐시에 남지 않고, 변경 감지 쓰기도 캐시를 비운다.")
+	@Test
+	void cachedCountIgnoresUncommittedWrites() {
+
+		// given
+		TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+		newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		Member member = newTransaction.execute(status -> {
+			memberRepository.save(new Member("cachedCount", 74));
+			return memberRepository.save(new Member("cachedCount", 74));
+		});
+		PageRequest pageRequest = PageRequest.of(0, 1);
+		long before = newTransaction.execute(status ->
+			memberRepository.findPageByAge(74, pageRequest, CountMode.CACHED).getTotalElements());
+
+		// when
+		long uncommitted = newTransaction.execute(status -> {
+			memberRepository.findById(member.getId()).orElseThrow().setAge(75);
+			long total = memberRepository.findPageByAge(74, pageRequest, CountMode.CACHED).getTotalElements();
+			status.setRollbackOnly();
+			return total;
+		});
+		long afterRollback = newTransaction.execute(status ->
+			memberRepository.findPageByAge(74, pageRequest, CountMode.CACHED).getTotalElements());
+
+		newTransaction.executeWithoutResult(status -> memberRepository.findById(member.getId()).orElseThrow().setAge(75));
+		long afterCommit = newTransaction.execute(status ->
+			memberRepository.findPageByAge(74, pageRequest, CountMode.CACHED).getTotalElements());
+
+		// then
+		assertThat(uncommitted).isEqualTo(before - 1);
+		assertThat(afterRollback).isEqualTo(before);
+		assertThat(afterCommit).isEqualTo(before - 1);
+	}
+
+	@DisplayName("PARALLEL 은 count 를 별도 트랜잭션에서 본 쿼리와 동시에 실행하고, 필요 없으면 취소한다.")
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void findPageByAgeParallelCount() {
+
+		// given
+		// count 는 다른 커넥션에서 실행되므로 커밋된 데이터만 보인다.
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		committed.executeWithoutResult(status -> memberRepository.saveAll(List.of(
+			new Member("member1", 76), new Member("member2", 76), new Member("member3", 76))));
+		long parallel = parallelCountExecutor.getParallel();
+		long notNeeded = parallelCountExecutor.getNotNeeded();
+
+		// when
+		Page<Member> page = memberRepository.findPageByAge(76, PageRequest.of(0, 2), CountMode.PARALLEL);
+		Page<Member> shortPage = memberRepository.findPageByAge(76, PageRequest.of(0, 10), CountMode.PARALLEL);
+
+		// then
+		assertThat(page.getContent()).hasSize(2);
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(shortPage.getContent()).hasSize(3);
+		assertThat(shortPage.getTotalElements()).isEqualTo(3);
+		assertThat(parallelCountExecutor.getParallel()).isEqualTo(parallel + 2);
+		// 두 번째 페이지는 본 쿼리만으로 total 을 알 수 있어 count 를 취소했다.
+		assertThat(parallelCountExecutor.getNotNeeded()).isEqualTo(notNeeded + 1);
+	}
+
+	@DisplayName("트랜잭션 안에서 PARALLEL 은 커넥션을 하나 더 잡지 않고 순서대로 실행한다.")
+	@Test
+	void findPageByAgeParallelCountInTransaction() {
+
+		// given
+		memberRepository.saveAll(List.of(new Member("member1", 75), new Member("member2", 75), new Member("member3", 75)));
+		long parallel = parallelCountExecutor.getParallel();
+		long sequential = parallelCountExecutor.getSequential();
+
+		// when
+		Page<Member> page = memberRepository.findPageByAge(75, PageRequest.of(0, 2), CountMode.PARALLEL);
+
+		// then
+		// 같은 트랜잭션이므로 커밋 전 데이터도 count 에 보인다.
+		assertThat(page.getContent()).hasSize(2);
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(parallelCountExecutor.getParallel()).isEqualTo(parallel);
+		assertThat(parallelCountExecutor.getSequential()).isEqualTo(sequential + 1);
+	}
+
 	@DisplayName("파라미터로 주어진 나이 이상인 모든 멤버의 나이를 +1 한다.")
 	@Test
 	void bulkAgePlus() {
@@ -324,6 +623,26 @@ class MemberRepositoryTest {
 		assertThat(resultCount).isEqualTo(3);
 	}
 	
+	@DisplayName("벌크 update 는 @Version 을 올려서 동시에 수정하던 낙관적 잠금 쓰기가 실패하게 한다.")
+	@Test
+	void bulkAgePlusIncrementsVersion() {
+
+		// given
+		Member member = memberRepository.save(new Member("versioned", 99));
+		em.flush();
+		Long version = member.getVersion();
+		em.clear();
+
+		// when
+		memberRepository.bulkAgePlus(99);
+		em.clear();
+
+		// then
+		Member findMember = memberRepository.findById(member.getId()).orElseThrow();
+		assertThat(findMember.getAge()).isEqualTo(100);
+		assertThat(findMember.getVersion()).isEqualTo(version + 1);
+	}
+
 	@DisplayName("지연로딩 확인")
 	@Test
 	void findMemberLazy() {
@@ -419,6 +738,33 @@ class MemberRepositoryTest {
 		// then
 	    assertThat(result.size()).isEqualTo(1);
 	}
+
+	@DisplayName("같은 모양의 Specification 은 한 번 컴파일한 JPQL 을 재사용한다.")
+	@Test
+	void specCompiled() {
+
+		// given
+		Team team = new Team("specTeam");
+		em.persist(team);
+		em.persist(new Member("specM1", 0, team));
+		em.persist(new Member("specM2", 0, team));
+		em.flush();
+		em.clear();
+
+		// when
+		List<Member> first = memberRepository.findAllCompiled(
+			MemberSpec.username("specM1").and(MemberSpec.teamName("specTeam")));
+		long hits = memberSpecCompiler.getHits();
+		List<Member> second = memberRepository.findAllCompiled(
+			MemberSpec.teamName("specTeam").and(MemberSpec.username("specM2")));
+
+		// then
+		assertThat(first).extracting(Member::getUsername).containsExactly("specM1");
+		assertThat(second).extracting(Member::getUsername).containsExactly("specM2");
+		assertThat(memberSpecCompiler.getHits()).isEqualTo(hits + 1);
+		assertThat(memberRepository.findAll(MemberSpec.teamName("specTeam").and(MemberSpec.username("specM2"))))
+			.isEqualTo(second);
+	}
 	
 	@DisplayName("")
 	@Test
@@ -477,6 +823,32 @@ class MemberRepositoryTest {
 		assertThat(result.get(0).getTeam().getName()).isEqualTo("teamA");
 	}
 	
+	@DisplayName("인터페이스 프로젝션을 프록시 없이 구현 레코드로 조회")
+	@Test
+	void directProjections() throws JsonProcessingException {
+
+		// given
+		Team team = new Team("directTeam");
+		em.persist(team);
+		em.persist(new Member("direct1", 0, team));
+		em.flush();
+		em.clear();
+
+		// when
+		List<NestedClosedProjections> nested = memberRepository.findDirectProjectionsByUsername("direct1", NestedClosedProjections.class);
+		List<UsernameOnly> usernames = memberRepository.findDirectProjectionsByUsername("direct1", UsernameOnly.class);
+
+		// then
+		assertThat(nested).hasSize(1);
+		assertThat(nested.get(0)).isInstanceOf(NestedClosedProjectionsRecord.class);
+		assertThat(nested.get(0).getUsername()).isEqualTo("direct1");
+		assertThat(nested.get(0).getTeam().getName()).isEqualTo("directTeam");
+		assertThat(new ObjectMapper().writeValueAsString(nested.get(0))).contains("\"team\":{\"name\":\"directTeam\"}");
+		assertThat(usernames).hasSize(1);
+		assertThat(usernames.get(0)).isInstanceOf(UsernameOnlyDto.class);
+		assertThat(usernames.get(0).getUsername()).isEqualTo("direct1");
+	}
+
 	@DisplayName("")
 	@Test
 	void NativeQuery() {
@@ -502,4 +874,141 @@ class MemberRepositoryTest {
 			System.out.println("teamName" + memberProjection.getTeamName());
 		}
 	}
+
+	@DisplayName("네이티브 쿼리를 JDBC 로 실행해 레코드 Page/Slice 로 조회")
+	@Test
+	void nativeFastQuery() {
+
+		// given
+		Team team = new Team("fastTeam");
+		em.persist(team);
+		for(int i = 0; i < 3; i++) {
+			em.persist(new Member("fast" + i, 93, team));
+		}
+		em.flush();
+		em.clear();
+
+		// when
+		Slice<MemberProjection> first = memberRepository.findNativeSliceByAge(93, PageRequest.of(0, 2, Sort.by("username")));
+		Slice<MemberProjection> second = memberRepository.findNativeSliceByAge(93, PageRequest.of(1, 2, Sort.by("username")));
+		Page<MemberProjection> page = memberRepository.findByNativeProjection(PageRequest.of(0, 2));
+
+		// then
+		assertThat(first.getContent()).extracting(MemberProjection::getUsername).containsExactly("fast0", "fast1");
+		assertThat(first.getContent()).extracting(MemberProjection::getTeamName).containsOnly("fastTeam");
+		assertThat(first.hasNext()).isTrue();
+		assertThat(second.getContent()).extracting(MemberProjection::getUsername).containsExactly("fast2");
+		assertThat(second.hasNext()).isFalse();
+		assertThat(page.getContent()).hasSize(2).allMatch(MemberProjectionRecord.class::isInstance);
+		assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+	}
+
+	@DisplayName("JDBC 로 실행하는 네이티브 쿼리도 flush 전 변경을 본다.")
+	@Test
+	void nativeFastQuerySeesUnflushedChanges() {
+
+		// given
+		Team team = new Team("unflushedTeam");
+		em.persist(team);
+		em.persist(new Member("unflushed0", 58, team));
+		em.persist(new Member("unflushed1", 58, team));
+
+		// when
+		Slice<MemberProjection> slice = memberRepository.findNativeSliceByAge(58, PageRequest.of(0, 100, Sort.by("username")));
+		Page<MemberProjection> page = memberRepository.findByNativeProjection(PageRequest.of(0, 2));
+
+		// then
+		assertThat(slice.getContent()).extracting(MemberProjection::getUsername).contains("unflushed0", "unflushed1");
+		assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+	}
+
+	@DisplayName("프로젝션 스트림 조회")
+	@Test
+	void streamMemberProjections() {
+
+		// given
+		Team teamA = new Team("teamA");
+		em.persist(teamA);
+		em.persist(new Member("stream1", 0, teamA));
+		em.persist(new Member("stream2", 0));
+		em.flush();
+		em.clear();
+
+		// when
+		List<MemberProjection> result;
+		try(Stream<MemberProjection> stream = memberRepository.streamMemberProjections()) {
+			result = stream
+				.filter(projection -> projection.getUsername() != null && projection.getUsername().startsWith("stream"))
+				.toList();
+		}
+
+		// then
+		assertThat(result).allMatch(MemberProjectionRecord.class::isInstance);
+		assertThat(result).extracting("username").containsExactlyInAnyOrder("stream1", "stream2");
+		assertThat(result).extracting("teamName").containsExactlyInAnyOrder("teamA", null);
+	}
+
+	@DisplayName("회원 목록의 팀 프록시를 쿼리 한 번으로 초기화")
+	@Test
+	void loadTeams() {
+
+		// given
+		for(int i = 0; i < 3; i++) {
+			Team team = new Team("batchTeam" + i);
+			em.persist(team);
+			em.persist(new Member("batchLoad", i, team));
+			em.persist(new Member("batchLoad", i, team));
+		}
+		em.flush();
+		em.clear();
+
+		List<Member> members = memberRepository.findListByUsername("batchLoad");
+
+		// when
+		QueryCounter counter;
+		try(QueryCounter c = QueryCounter.start()) {
+			counter = c;
+			memberRepository.loadTeams(members);
+			members.forEach(member -> member.getTeam().getName());
+		}
+
+		// then
+		assertThat(counter.getTotal()).isEqualTo(1);
+	}
+
+	@DisplayName("팀 목록의 members 컬렉션을 쿼리 한 번으로 초기화")
+	@Test
+	void loadMembers() {
+
+		// given
+		for(int i = 0; i < 3; i++) {
+			Team team = new Team("batchTeam" + i);
+			em.persist(team);
+			em.persist(new Member("batchLoad", i, team));
+			em.persist(new Member("batchLoad", i, team));
+		}
+		em.flush();
+		em.clear();
+
+		List<Team> teams = em.createQuery("select t from Team t where t.name like 'batchTeam%'", Team.class)
+			.getResultList();
+
+		// when
+		QueryCounter counter;
+		try(QueryCounter c = QueryCounter.start()) {
+			counter = c;
+			teamRepository.loadMembers(teams);
+			teams.forEach(team -> team.getMembers().size());
+		}
+
+		// then
+		assertThat(counter.getTotal()).isEqualTo(1);
+	}
+
+	private static int queryCount(Runnable runnable) {
+		try(QueryCounter counter = QueryCounter.start()) {
+			runnable.run();
+			return counter.getTotal();
+		}
+	}
 }
\ No newline at end of file
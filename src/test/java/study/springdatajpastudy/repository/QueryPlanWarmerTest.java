@@ -0,0 +1,35 @@
+package study.springdatajpastudy.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.springdatajpastudy.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"query-warmup.enabled=true", "spring.data.jpa.repositories.bootstrap-mode=deferred"})
+class QueryPlanWarmerTest {
+
+	@Autowired
+	QueryPlanWarmer queryPlanWarmer;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@DisplayName("리포지토리 @Query 와 NamedQuery 를 해석해 쿼리 플랜 캐시를 채운다.")
+	@Test
+	void warmUp() {
+
+		// given
+		memberRepository.save(new Member("warmUp", 10));
+
+		// when
+		QueryWarmUpResult result = queryPlanWarmer.warmUp();
+
+		// then
+		assertThat(result.prepared()).isPositive();
+		assertThat(result.failed()).isZero();
+		assertThat(memberRepository.findByUsername("warmUp")).extracting(Member::getAge).contains(10);
+	}
+}
\ No newline at end of file
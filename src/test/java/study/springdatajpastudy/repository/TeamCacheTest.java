@@ -0,0 +1,45 @@
+package study.springdatajpastudy.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import study.springdatajpastudy.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("l2cache")
+class TeamCacheTest {
+
+	@Autowired
+	TeamRepository teamRepository;
+
+	@Autowired
+	EntityManagerFactory emf;
+
+	@DisplayName("Team 은 2차 캐시에서 조회되고 삭제 시 캐시에서도 제거된다.")
+	@Test
+	void secondLevelCache() {
+
+		// given
+		Team team = teamRepository.save(new Team("cachedTeam"));
+		CacheRegionStatistics statistics = emf.unwrap(SessionFactory.class)
+			.getStatistics()
+			.getDomainDataRegionStatistics("team");
+		long hitBefore = statistics.getHitCount();
+
+		// when
+		teamRepository.findById(team.getId());
+		teamRepository.findById(team.getId());
+		teamRepository.delete(team);
+
+		// then
+		assertThat(statistics.getHitCount() - hitBefore).isGreaterThanOrEqualTo(2);
+		assertThat(emf.getCache().contains(Team.class, team.getId())).isFalse();
+	}
+}
\ No newline at end of file
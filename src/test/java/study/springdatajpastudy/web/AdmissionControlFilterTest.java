@@ -0,0 +1,62 @@
+package study.springdatajpastudy.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"admission.enabled=true", "admission.max-concurrent-requests=2"})
+@AutoConfigureMockMvc
+class AdmissionControlFilterTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	AdmissionControlFilter admissionControlFilter;
+
+	@DisplayName("StreamingResponseBody 응답은 핸들러가 반환한 뒤에도 스트리밍이 끝날 때까지 입장 허가를 쥐고 있는다.")
+	@Test
+	void holdPermitUntilAsyncCompletion() throws Exception {
+
+		// given
+		int available = admissionControlFilter.availablePermits();
+
+		// when
+		MvcResult result = mockMvc.perform(get("/members/export"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		result.getAsyncResult();
+		int whileStreaming = admissionControlFilter.availablePermits();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk());
+
+		// then
+		assertThat(whileStreaming).isEqualTo(available - 1);
+		assertThat(admissionControlFilter.availablePermits()).isEqualTo(available);
+	}
+
+	@DisplayName("동기 요청은 핸들러가 반환하면 바로 입장 허가를 반환한다.")
+	@Test
+	void releasePermitAfterSyncRequest() throws Exception {
+
+		// given
+		int available = admissionControlFilter.availablePermits();
+
+		// when
+		mockMvc.perform(get("/members/cursor"))
+			.andExpect(status().isOk());
+
+		// then
+		assertThat(admissionControlFilter.availablePermits()).isEqualTo(available);
+	}
+}
\ No newline at end of file
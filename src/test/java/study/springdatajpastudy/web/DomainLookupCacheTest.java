@@ -0,0 +1,75 @@
+package study.springdatajpastudy.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.springdatajpastudy.entity.Member;
+import study.springdatajpastudy.monitor.QueryCounter;
+import study.springdatajpastudy.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "domain-lookup.enabled=true")
+@AutoConfigureMockMvc
+class DomainLookupCacheTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	RequestEntityCache requestEntityCache;
+
+	@DisplayName("요청이 참조하는 여러 회원 id 를 findAllById 한 번으로 조회하고 변환은 캐시에서 처리한다.")
+	@Test
+	void preloadIds() throws Exception {
+
+		// given
+		List<Member> members = memberRepository.saveAll(IntStream.rangeClosed(1, 3)
+			.mapToObj(i -> new Member("lookup" + i, 0))
+			.toList());
+		String ids = members.stream().map(member -> String.valueOf(member.getId())).collect(Collectors.joining(","));
+		long hits = requestEntityCache.getHits();
+
+		// when
+		QueryCounter counter;
+		try(QueryCounter c = QueryCounter.start()) {
+			counter = c;
+			mockMvc.perform(get("/members2").param("ids", ids))
+				.andExpect(status().isOk())
+				.andExpect(content().json("[\"lookup1\",\"lookup2\",\"lookup3\"]"));
+		}
+
+		// then
+		assertThat(counter.getTotal()).isEqualTo(1);
+		assertThat(requestEntityCache.getHits()).isEqualTo(hits + 3);
+	}
+
+	@DisplayName("요청 밖에서는 findById 결과를 캐시하지 않는다.")
+	@Test
+	void noCacheOutsideRequest() {
+
+		// given
+		Member member = memberRepository.save(new Member("lookupOutside", 0));
+		long hits = requestEntityCache.getHits();
+
+		// when
+		memberRepository.findById(member.getId());
+		memberRepository.findById(member.getId());
+
+		// then
+		assertThat(requestEntityCache.getHits()).isEqualTo(hits);
+	}
+}
\ No newline at end of file